@@ -1,15 +1,22 @@
 package com.desafio.forohub.config;
 
+import com.desafio.forohub.infra.security.PasswordEncoderAcotado;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.bcrypt.strength:10}") int strength,
+                                           @Value("${api.security.bcrypt.threads:2}") int hilos,
+                                           @Value("${api.security.bcrypt.queue-capacity:64}") int capacidadCola,
+                                           MeterRegistry meterRegistry) {
+        return new PasswordEncoderAcotado(strength, hilos, capacidadCola, meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,16 @@
 package com.desafio.forohub.controller;
 
+import com.desafio.forohub.domain.usuario.Usuario;
+import com.desafio.forohub.infra.security.ProteccionFuerzaBruta;
+import com.desafio.forohub.infra.security.dto.JWTtokenDTO;
+import com.desafio.forohub.infra.security.dto.RefreshTokenDTO;
+import com.desafio.forohub.infra.service.RefreshTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -15,16 +25,39 @@ public class AuthenticationController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private ProteccionFuerzaBruta proteccionFuerzaBruta;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @PostMapping("/login")
-    public String login(@RequestBody AuthRequest authRequest) {
+    public ResponseEntity<?> login(@RequestBody AuthRequest authRequest, HttpServletRequest request) {
+        var ip = request.getRemoteAddr();
+
+        //Usuario o IP bloqueados: se corta antes de consultar la BD y de ejecutar BCrypt
+        var bloqueoRestante = proteccionFuerzaBruta.bloqueoRestante(authRequest.getUsername(), ip);
+        if (bloqueoRestante > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((bloqueoRestante + 999) / 1000))
+                    .body("Demasiados intentos fallidos, inténtalo más tarde.");
+        }
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
-            // Generar y devolver el token JWT aquí
-            return "Token generado";
+            proteccionFuerzaBruta.registrarExito(authRequest.getUsername());
+            return ResponseEntity.ok(refreshTokenService.iniciarSesion((Usuario) authentication.getPrincipal()));
         } catch (AuthenticationException e) {
-            return "Credenciales inválidas";
+            proteccionFuerzaBruta.registrarFallo(authRequest.getUsername(), ip);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciales inválidas");
         }
     }
-}
\ No newline at end of file
+
+    //Renueva el access token sin volver a comprobar la contraseña; el refresh token usado queda invalidado
+    @PostMapping("/login/refresh")
+    public ResponseEntity<JWTtokenDTO> renovar(@RequestBody @Valid RefreshTokenDTO refreshTokenDTO) {
+        return ResponseEntity.ok(refreshTokenService.renovar(refreshTokenDTO.refreshToken()));
+    }
+}
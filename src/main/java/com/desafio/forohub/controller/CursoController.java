@@ -5,6 +5,7 @@ import com.desafio.forohub.domain.curso.dto.ActualizarCursoDTO;
 import com.desafio.forohub.domain.curso.dto.CrearCursoDTO;
 import com.desafio.forohub.domain.curso.dto.DetalleCursoDTO;
 import com.desafio.forohub.domain.curso.repository.CursoRepository;
+import com.desafio.forohub.infra.pagination.PaginaLigera;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -48,6 +49,14 @@ public class CursoController {
         return ResponseEntity.ok(pagina);
     }
 
+    @GetMapping(value = "/all", params = PaginaLigera.FORMATO)
+    @Operation(summary = "Lee todos los cursos en formato ligero; el total sólo se calcula con total=true.")
+    public ResponseEntity<PaginaLigera<DetalleCursoDTO>> listarCursosLigero(@PageableDefault(size = 5, sort = {"id"}) Pageable pageable,
+                                                                           @RequestParam(defaultValue = "false") boolean total) {
+        var pagina = total ? repository.findAll(pageable) : repository.findSliceBy(pageable);
+        return ResponseEntity.ok(PaginaLigera.de(pagina.map(DetalleCursoDTO::new)));
+    }
+
     @GetMapping
     @Operation(summary = "Lista de cursos activos.")
     public ResponseEntity<Page<DetalleCursoDTO>> listarCursosActivos(@PageableDefault(size = 5, sort = {"id"}) Pageable pageable) {
@@ -55,6 +64,14 @@ public class CursoController {
         return ResponseEntity.ok(pagina);
     }
 
+    @GetMapping(params = PaginaLigera.FORMATO)
+    @Operation(summary = "Lista de cursos activos en formato ligero; el total sólo se calcula con total=true.")
+    public ResponseEntity<PaginaLigera<DetalleCursoDTO>> listarCursosActivosLigero(@PageableDefault(size = 5, sort = {"id"}) Pageable pageable,
+                                                                                  @RequestParam(defaultValue = "false") boolean total) {
+        var pagina = total ? repository.findAllByActivoTrue(pageable) : repository.findSliceByActivoTrue(pageable);
+        return ResponseEntity.ok(PaginaLigera.de(pagina.map(DetalleCursoDTO::new)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Lee un solo curso por su ID.")
     public ResponseEntity<DetalleCursoDTO> listarUnCurso(@PathVariable Long id) {
@@ -0,0 +1,64 @@
+package com.desafio.forohub.controller;
+
+import com.desafio.forohub.infra.exportacion.ExportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/exportacion")
+@SecurityRequirement(name = "bearer-key")
+@Tag(name = "Exportación", description = "Volcado completo del foro en formato NDJSON.")
+public class ExportacionController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportacionService exportacionService;
+    private final Duration timeout;
+
+    public ExportacionController(ExportacionService exportacionService,
+                                 @Value("${api.exportacion.timeout:1h}") Duration timeout) {
+        this.exportacionService = exportacionService;
+        this.timeout = timeout;
+    }
+
+    @GetMapping("/topicos")
+    @Operation(summary = "Exporta todos los tópicos, uno por línea, sin cargarlos en memoria.")
+    public ResponseEntity<StreamingResponseBody> exportarTopicos(@RequestParam(defaultValue = "false") boolean gzip,
+                                                                 HttpServletRequest request) {
+        return respuesta(request, "topicos", gzip, salida -> exportacionService.exportarTopicos(salida, gzip));
+    }
+
+    @GetMapping("/respuestas")
+    @Operation(summary = "Exporta todas las respuestas, una por línea, sin cargarlas en memoria.")
+    public ResponseEntity<StreamingResponseBody> exportarRespuestas(@RequestParam(defaultValue = "false") boolean gzip,
+                                                                    HttpServletRequest request) {
+        return respuesta(request, "respuestas", gzip, salida -> exportacionService.exportarRespuestas(salida, gzip));
+    }
+
+    private ResponseEntity<StreamingResponseBody> respuesta(HttpServletRequest request, String nombre, boolean gzip,
+                                                            StreamingResponseBody cuerpo) {
+        //Sólo las exportaciones pueden tardar tanto; el resto de peticiones asíncronas conserva el timeout por defecto
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+        var builder = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nombre + (gzip ? ".ndjson.gz" : ".ndjson") + "\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(cuerpo);
+    }
+}
@@ -0,0 +1,33 @@
+package com.desafio.forohub.controller;
+
+import com.desafio.forohub.infra.importacion.ImportacionService;
+import com.desafio.forohub.infra.importacion.dto.ResultadoImportacionDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/importacion")
+@SecurityRequirement(name = "bearer-key")
+@Tag(name = "Importación", description = "Carga masiva de tópicos y respuestas en formato NDJSON.")
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    @Operation(summary = "Importa tópicos y respuestas, una entidad JSON por línea, validando y escribiendo por lotes.")
+    public ResponseEntity<ResultadoImportacionDTO> importar(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(importacionService.importar(request.getInputStream()));
+    }
+}
@@ -1,32 +1,56 @@
 package com.desafio.forohub.controller;
 
 import com.desafio.forohub.domain.respuesta.Respuesta;
+import com.desafio.forohub.domain.respuesta.RespuestasModificadasEvent;
 import com.desafio.forohub.domain.respuesta.dto.ActualizarRespuestaDTO;
 import com.desafio.forohub.domain.respuesta.dto.CrearRespuestaDTO;
 import com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO;
+import com.desafio.forohub.domain.respuesta.dto.VersionRespuestaDTO;
 import com.desafio.forohub.domain.respuesta.repository.RespuestaRepository;
+import com.desafio.forohub.domain.respuesta.validations.ContextoRespuesta;
 import com.desafio.forohub.domain.respuesta.validations.create.ValidarRespuestaCreada;
 import com.desafio.forohub.domain.respuesta.validations.update.ValidarRespuestaActualizada;
-import com.desafio.forohub.domain.topico.Estado;
 import com.desafio.forohub.domain.topico.Topico;
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import com.desafio.forohub.domain.topico.repository.TopicoArchivoRepository;
 import com.desafio.forohub.domain.topico.repository.TopicoRepository;
 import com.desafio.forohub.domain.usuario.Usuario;
 import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import com.desafio.forohub.infra.cache.CargasAgrupadas;
+import com.desafio.forohub.infra.cache.FragmentosJson;
+import com.desafio.forohub.infra.http.GetCondicional;
+import com.desafio.forohub.infra.http.JsonSerializado;
+import com.desafio.forohub.infra.pagination.Cursor;
+import com.desafio.forohub.infra.pagination.PaginaCursor;
+import com.desafio.forohub.infra.pagination.PaginaLigera;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/respuestas")
@@ -35,22 +59,40 @@ import java.util.List;
 public class RespuestaController {
 
     private final TopicoRepository topicoRepository;
+    private final TopicoArchivoRepository topicoArchivoRepository;
     private final UsuarioRepository usuarioRepository;
     private final RespuestaRepository respuestaRepository;
     private final List<ValidarRespuestaCreada> crearValidadores;
     private final List<ValidarRespuestaActualizada> actualizarValidadores;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GetCondicional getCondicional;
+    private final CargasAgrupadas cargasAgrupadas;
+    private final ObjectMapper objectMapper;
+    private final FragmentosJson fragmentosJson;
 
     @Autowired
     public RespuestaController(TopicoRepository topicoRepository,
+                               TopicoArchivoRepository topicoArchivoRepository,
                                UsuarioRepository usuarioRepository,
                                RespuestaRepository respuestaRepository,
                                List<ValidarRespuestaCreada> crearValidadores,
-                               List<ValidarRespuestaActualizada> actualizarValidadores) {
+                               List<ValidarRespuestaActualizada> actualizarValidadores,
+                               ApplicationEventPublisher eventPublisher,
+                               GetCondicional getCondicional,
+                               CargasAgrupadas cargasAgrupadas,
+                               ObjectMapper objectMapper,
+                               FragmentosJson fragmentosJson) {
         this.topicoRepository = topicoRepository;
+        this.topicoArchivoRepository = topicoArchivoRepository;
         this.usuarioRepository = usuarioRepository;
         this.respuestaRepository = respuestaRepository;
         this.crearValidadores = crearValidadores;
         this.actualizarValidadores = actualizarValidadores;
+        this.eventPublisher = eventPublisher;
+        this.getCondicional = getCondicional;
+        this.cargasAgrupadas = cargasAgrupadas;
+        this.objectMapper = objectMapper;
+        this.fragmentosJson = fragmentosJson;
     }
 
     @PostMapping
@@ -58,13 +100,17 @@ public class RespuestaController {
     @Operation(summary = "Registra una nueva respuesta en la base de datos, vinculada a un usuario y tema existente.")
     public ResponseEntity<DetalleRespuestaDTO> crearRespuesta(@RequestBody @Valid CrearRespuestaDTO crearRespuestaDTO,
                                                               UriComponentsBuilder uriBuilder) {
-        crearValidadores.forEach(v -> v.validate(crearRespuestaDTO));
+        var contexto = new ContextoRespuesta(usuarioRepository.findById(crearRespuestaDTO.usuarioId()),
+                topicoRepository.findById(crearRespuestaDTO.topicoId()));
+        crearValidadores.forEach(v -> v.validate(crearRespuestaDTO, contexto));
 
-        Usuario usuario = usuarioRepository.findById(crearRespuestaDTO.usuarioId()).orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-        Topico topico = topicoRepository.findById(crearRespuestaDTO.topicoId()).orElseThrow(() -> new RuntimeException("Tópico no encontrado"));
+        Usuario usuario = contexto.usuario().orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        Topico topico = contexto.topico().orElseThrow(() -> new RuntimeException("Tópico no encontrado"));
 
         Respuesta respuesta = new Respuesta(crearRespuestaDTO, usuario, topico);
         respuestaRepository.save(respuesta);
+        topicoRepository.registrarRespuesta(topico.getId(), respuesta.getFechaCreacion(), usuario.getId());
+        eventPublisher.publishEvent(RespuestasModificadasEvent.de(topico.getId()));
 
         var uri = uriBuilder.path("/respuestas/{id}").buildAndExpand(respuesta.getId()).toUri();
         return ResponseEntity.created(uri).body(new DetalleRespuestaDTO(respuesta));
@@ -72,37 +118,73 @@ public class RespuestaController {
 
     @GetMapping("/topico/{topicoId}")
     @Operation(summary = "Lee todas las respuestas del tema dado.")
-    public ResponseEntity<Page<DetalleRespuestaDTO>> leerRespuestasDeTopico(@PageableDefault(size = 5, sort = {"ultimaActualizacion"}, direction = Sort.Direction.ASC) Pageable pageable,
-                                                                            @PathVariable Long topicoId) {
-        var pagina = respuestaRepository.findAllByTopicoId(topicoId, pageable).map(DetalleRespuestaDTO::new);
-        return ResponseEntity.ok(pagina);
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = Page.class)))
+    public ResponseEntity<JsonSerializado> leerRespuestasDeTopico(@PageableDefault(size = 5, sort = {"ultimaActualizacion"}, direction = Sort.Direction.ASC) Pageable pageable,
+                                                                  @PathVariable Long topicoId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var sello = cargasAgrupadas.cargar("respuestas-version", topicoId, () -> respuestaRepository.findVersionByTopicoId(topicoId));
+        if (sello.isEmpty()) { //Tópico archivado (o inexistente): sus respuestas ya no cambian
+            return ResponseEntity.ok(JsonSerializado.de(objectMapper,
+                    topicoArchivoRepository.findRespuestasByTopicoId(topicoId, pageable)));
+        }
+        var version = sello.get();
+        var etag = getCondicional.etag("respuestas", topicoId, version.total(), version.ultimaActualizacion(),
+                version.ultimaActualizacionTopico(), pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        if (getCondicional.coincide(ifNoneMatch, etag)) {
+            return getCondicional.noModificado(etag, "respuestas", 1); //Las versiones de la página
+        }
+        var cuerpo = cargasAgrupadas.cargar("respuestas", etag, () -> JsonSerializado.de(objectMapper,
+                new PageImpl<>(fragmentosDeRespuestas(topicoId, pageable), pageable, version.total())));
+        return ResponseEntity.ok().eTag(etag).body(cuerpo);
+    }
+
+    @GetMapping(value = "/topico/{topicoId}", params = PaginaLigera.FORMATO)
+    @Operation(summary = "Lee las respuestas del tema en formato ligero; el total sólo se calcula con total=true.")
+    public ResponseEntity<PaginaLigera<DetalleRespuestaDTO>> leerRespuestasDeTopicoLigero(@PageableDefault(size = 5, sort = {"ultimaActualizacion"}, direction = Sort.Direction.ASC) Pageable pageable,
+                                                                                        @PathVariable Long topicoId,
+                                                                                        @RequestParam(defaultValue = "false") boolean total) {
+        var pagina = total
+                ? respuestaRepository.findAllDetallesByTopicoId(topicoId, pageable)
+                : respuestaRepository.findSliceDetallesByTopicoId(topicoId, pageable);
+        return ResponseEntity.ok(PaginaLigera.de(pagina));
+    }
+
+    @GetMapping("/topico/{topicoId}/cursor")
+    @Operation(summary = "Lee las respuestas del tema dado con paginación por cursor (sin total de elementos).")
+    public ResponseEntity<PaginaCursor<DetalleRespuestaDTO>> leerRespuestasDeTopicoPorCursor(@PathVariable Long topicoId,
+                                                                                            @RequestParam(required = false) String cursor,
+                                                                                            @RequestParam(defaultValue = "5") int size) {
+        var posicion = Cursor.decodificar(cursor, Cursor.INICIO_ASCENDENTE);
+        var tamano = PaginaCursor.limitar(size);
+        var filas = respuestaRepository.findDetallesByTopicoIdDespuesDe(topicoId, posicion.fecha(), posicion.id(), PageRequest.of(0, tamano + 1));
+        return ResponseEntity.ok(PaginaCursor.de(filas, tamano, r -> new Cursor(r.ultimaActualizacion(), r.id())));
     }
 
     @GetMapping("/usuario/{usuarioId}")
     @Operation(summary = "Lee todas las respuestas del usuario proporcionado.")
     public ResponseEntity<Page<DetalleRespuestaDTO>> leerRespuestasDeUsuarios(@PageableDefault(size = 5, sort = {"ultimaActualizacion"}, direction = Sort.Direction.ASC) Pageable pageable,
                                                                               @PathVariable Long usuarioId) {
-        var pagina = respuestaRepository.findAllByUsuarioId(usuarioId, pageable).map(DetalleRespuestaDTO::new);
+        var pagina = respuestaRepository.findAllDetallesByUsuarioId(usuarioId, pageable);
         return ResponseEntity.ok(pagina);
     }
 
+    @GetMapping(value = "/usuario/{usuarioId}", params = PaginaLigera.FORMATO)
+    @Operation(summary = "Lee las respuestas del usuario en formato ligero; el total sólo se calcula con total=true.")
+    public ResponseEntity<PaginaLigera<DetalleRespuestaDTO>> leerRespuestasDeUsuariosLigero(@PageableDefault(size = 5, sort = {"ultimaActualizacion"}, direction = Sort.Direction.ASC) Pageable pageable,
+                                                                                          @PathVariable Long usuarioId,
+                                                                                          @RequestParam(defaultValue = "false") boolean total) {
+        var pagina = total
+                ? respuestaRepository.findAllDetallesByUsuarioId(usuarioId, pageable)
+                : respuestaRepository.findSliceDetallesByUsuarioId(usuarioId, pageable);
+        return ResponseEntity.ok(PaginaLigera.de(pagina));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Lee una única respuesta por su ID.")
     public ResponseEntity<DetalleRespuestaDTO> leerUnaRespuesta(@PathVariable Long id) {
-        Respuesta respuesta = respuestaRepository.findById(id).orElseThrow(() -> new RuntimeException("Respuesta no encontrada"));
-
-        var datosRespuesta = new DetalleRespuestaDTO(
-                respuesta.getId(),
-                respuesta.getMensaje(),
-                respuesta.getFechaCreacion(),
-                respuesta.getUltimaActualizacion(),
-                respuesta.getSolucion(),
-                respuesta.getBorrado(),
-                respuesta.getUsuario().getId(),
-                respuesta.getUsuario().getUsername(),
-                respuesta.getTopico().getId(),
-                respuesta.getTopico().getTitulo()
-        );
+        var datosRespuesta = respuestaRepository.findDetallesById(id)
+                .or(() -> topicoArchivoRepository.findRespuestaById(id))
+                .orElseThrow(() -> new RuntimeException("Respuesta no encontrada"));
         return ResponseEntity.ok(datosRespuesta);
     }
 
@@ -111,14 +193,20 @@ public class RespuestaController {
     @Operation(summary = "Actualiza el mensaje de la respuesta, si es solución o su estado.")
     public ResponseEntity<DetalleRespuestaDTO> actualizarRespuesta(@RequestBody @Valid ActualizarRespuestaDTO actualizarRespuestaDTO,
                                                                    @PathVariable Long id) {
-        actualizarValidadores.forEach(v -> v.validate(actualizarRespuestaDTO, id));
-        Respuesta respuesta = respuestaRepository.findById(id).orElseThrow(() -> new RuntimeException("Respuesta no encontrada"));
-        respuesta.actualizarRespuesta(actualizarRespuestaDTO);
+        Respuesta respuesta = respuestaRepository.findConUsuarioYTopicoById(id).orElseThrow(() -> new RuntimeException("Respuesta no encontrada"));
+        actualizarValidadores.forEach(v -> v.validate(actualizarRespuestaDTO, respuesta));
 
-        if (actualizarRespuestaDTO.solucion()) {
-            Topico temaResuelto = topicoRepository.findById(respuesta.getTopico().getId()).orElseThrow(() -> new RuntimeException("Tópico no encontrado"));
-            temaResuelto.setEstado(Estado.CERRADO);
+        if (Boolean.TRUE.equals(actualizarRespuestaDTO.solucion())) {
+            //Comprobar y cerrar en un solo UPDATE condicional: sin bloqueos y sin carrera entre dos soluciones
+            int filas = topicoRepository.marcarSolucion(respuesta.getTopico().getId(), respuesta.getId(), LocalDateTime.now());
+            if (filas == 0) {
+                throw new ValidationException("Este topico ya esta solucionado.");
+            }
+            eventPublisher.publishEvent(TopicosModificadosEvent.de(respuesta.getTopico().getId()));
+        } else if (Boolean.FALSE.equals(actualizarRespuestaDTO.solucion())) {
+            soltarSolucion(respuesta.getTopico().getId(), respuesta.getId());
         }
+        respuesta.actualizarRespuesta(actualizarRespuestaDTO);
 
         var datosRespuesta = new DetalleRespuestaDTO(
                 respuesta.getId(),
@@ -140,7 +228,40 @@ public class RespuestaController {
     @Operation(summary = "Elimina una respuesta por su ID.")
     public ResponseEntity<Void> eliminarRespuesta(@PathVariable Long id) {
         Respuesta respuesta = respuestaRepository.findById(id).orElseThrow(() -> new RuntimeException("Respuesta no encontrada"));
-        respuesta.eliminarRespuesta();
+        var ahora = LocalDateTime.now();
+        //Sólo descuenta la petición cuyo UPDATE condicional la borró: dos DELETE simultáneos no restan dos veces
+        if (respuestaRepository.marcarBorrada(id, ahora) == 1) {
+            topicoRepository.descontarRespuesta(respuesta.getTopico().getId());
+            soltarSolucion(respuesta.getTopico().getId(), id);
+            eventPublisher.publishEvent(RespuestasModificadasEvent.de(respuesta.getTopico().getId()));
+        }
         return ResponseEntity.noContent().build();
     }
+
+    private void soltarSolucion(Long topicoId, Long respuestaId) {
+        if (topicoRepository.soltarSolucion(topicoId, respuestaId, LocalDateTime.now()) == 1) {
+            eventPublisher.publishEvent(TopicosModificadosEvent.de(topicoId));
+        }
+    }
+
+    //Une los fragmentos JSON de la página; las respuestas nuevas o modificadas se leen en una sola consulta
+    private List<JsonSerializado> fragmentosDeRespuestas(Long topicoId, Pageable pageable) {
+        var versiones = respuestaRepository.findVersionesByTopicoId(topicoId, pageable);
+        Map<Long, JsonSerializado> fragmentos = new HashMap<>();
+        Map<Long, VersionRespuestaDTO> faltantes = new HashMap<>();
+        for (var v : versiones) {
+            var fragmento = fragmentosJson.obtener("respuesta", v.id(), v);
+            if (fragmento != null) {
+                fragmentos.put(v.id(), fragmento);
+            } else {
+                faltantes.put(v.id(), v);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (var dto : respuestaRepository.findAllDetallesByIdIn(faltantes.keySet())) {
+                fragmentos.put(dto.id(), fragmentosJson.guardar("respuesta", dto.id(), faltantes.get(dto.id()), dto));
+            }
+        }
+        return versiones.stream().map(v -> fragmentos.get(v.id())).filter(Objects::nonNull).toList();
+    }
 }
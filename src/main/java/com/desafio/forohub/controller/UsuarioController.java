@@ -7,6 +7,8 @@ import com.desafio.forohub.domain.usuario.dto.DetallesUsuarioDTO;
 import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
 import com.desafio.forohub.domain.usuario.validations.create.ValidarCrearUsuario;
 import com.desafio.forohub.domain.usuario.validations.update.ValidarActualizarUsuario;
+import com.desafio.forohub.infra.pagination.PaginaLigera;
+import com.desafio.forohub.infra.security.RevocacionTokens;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,7 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -31,19 +33,22 @@ import java.util.Optional;
 public class UsuarioController {
 
     private final UsuarioRepository repository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final List<ValidarCrearUsuario> crearValidadores;
     private final List<ValidarActualizarUsuario> actualizarValidadores;
+    private final RevocacionTokens revocacionTokens;
 
     @Autowired
     public UsuarioController(UsuarioRepository repository,
-                             BCryptPasswordEncoder passwordEncoder,
+                             PasswordEncoder passwordEncoder,
                              List<ValidarCrearUsuario> crearValidadores,
-                             List<ValidarActualizarUsuario> actualizarValidadores) {
+                             List<ValidarActualizarUsuario> actualizarValidadores,
+                             RevocacionTokens revocacionTokens) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
         this.crearValidadores = crearValidadores;
         this.actualizarValidadores = actualizarValidadores;
+        this.revocacionTokens = revocacionTokens;
     }
 
     @PostMapping
@@ -69,6 +74,14 @@ public class UsuarioController {
         return ResponseEntity.ok(pagina);
     }
 
+    @GetMapping(value = "/all", params = PaginaLigera.FORMATO)
+    @Operation(summary = "Enumera todos los usuarios en formato ligero; el total sólo se calcula con total=true.")
+    public ResponseEntity<PaginaLigera<DetallesUsuarioDTO>> leerTodosUsuariosLigero(@PageableDefault(size = 5, sort = {"id"}) Pageable pageable,
+                                                                                   @RequestParam(defaultValue = "false") boolean total) {
+        var pagina = total ? repository.findAll(pageable) : repository.findSliceBy(pageable);
+        return ResponseEntity.ok(PaginaLigera.de(pagina.map(DetallesUsuarioDTO::new)));
+    }
+
     @GetMapping
     @Operation(summary = "Lista solo usuarios habilitados.")
     public ResponseEntity<Page<DetallesUsuarioDTO>> leerUsuariosActivos(@PageableDefault(size = 5, sort = {"id"}) Pageable pageable) {
@@ -76,6 +89,14 @@ public class UsuarioController {
         return ResponseEntity.ok(pagina);
     }
 
+    @GetMapping(params = PaginaLigera.FORMATO)
+    @Operation(summary = "Lista solo usuarios habilitados en formato ligero; el total sólo se calcula con total=true.")
+    public ResponseEntity<PaginaLigera<DetallesUsuarioDTO>> leerUsuariosActivosLigero(@PageableDefault(size = 5, sort = {"id"}) Pageable pageable,
+                                                                                     @RequestParam(defaultValue = "false") boolean total) {
+        var pagina = total ? repository.findAllByEnabledTrue(pageable) : repository.findSliceByEnabledTrue(pageable);
+        return ResponseEntity.ok(PaginaLigera.de(pagina.map(DetallesUsuarioDTO::new)));
+    }
+
     @GetMapping("/username/{username}")
     @Operation(summary = "Lee un único usuario por su nombre de usuario.")
     public ResponseEntity<DetallesUsuarioDTO> leerUnUsuario(@PathVariable String username){
@@ -116,6 +137,7 @@ public class UsuarioController {
         actualizarValidadores.forEach(v -> v.validate(actualizarUsuarioDTO));
 
         Usuario usuario = repository.findByUsername(username).orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        int versionAnterior = usuario.getTokenVersion();
 
         if (Optional.ofNullable(actualizarUsuarioDTO.getPassword()).isPresent()){
             String hashedPassword = passwordEncoder.encode(actualizarUsuarioDTO.getPassword());
@@ -123,6 +145,9 @@ public class UsuarioController {
         } else {
             usuario.actualizarUsuario(actualizarUsuarioDTO);
         }
+        if (usuario.getTokenVersion() != versionAnterior){
+            revocacionTokens.revocar(usuario.getId(), usuario.getTokenVersion());
+        }
 
         var datosUsuario = new DetallesUsuarioDTO(
                 usuario.getId(),
@@ -142,6 +167,7 @@ public class UsuarioController {
     public ResponseEntity<Void> eliminarUsuario(@PathVariable String username){
         Usuario usuario = repository.findByUsername(username).orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
         usuario.eliminarUsuario();
+        revocacionTokens.revocar(usuario.getId(), usuario.getTokenVersion());
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
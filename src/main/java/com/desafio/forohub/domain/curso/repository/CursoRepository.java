@@ -3,6 +3,7 @@ package com.desafio.forohub.domain.curso.repository;
 import com.desafio.forohub.domain.curso.Curso;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,9 @@ import org.springframework.stereotype.Repository;
 public interface CursoRepository extends JpaRepository<Curso, Long> {
 
     Page<Curso> findAllByActivoTrue(Pageable pageable);
+
+    //Variantes Slice para formato=ligero: piden una fila de más en lugar de hacer COUNT
+    Slice<Curso> findSliceBy(Pageable pageable);
+
+    Slice<Curso> findSliceByActivoTrue(Pageable pageable);
 }
@@ -22,7 +22,9 @@ import java.time.LocalDateTime;
 public class Respuesta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "respuestas_id")
+    @TableGenerator(name = "respuestas_id", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente", pkColumnValue = "respuestas", allocationSize = 50)
     private Long id;
     private String mensaje;
 
@@ -67,5 +69,6 @@ public class Respuesta {
 
     public void eliminarRespuesta(){
         this.borrado = true;
+        this.ultimaActualizacion = LocalDateTime.now();
     }
 }
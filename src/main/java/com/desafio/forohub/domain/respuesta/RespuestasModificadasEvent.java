@@ -0,0 +1,12 @@
+package com.desafio.forohub.domain.respuesta;
+
+import java.util.Collection;
+import java.util.Set;
+
+//Altas y bajas de respuestas: cambian los contadores del tópico pero no su texto, así que no reindexan la búsqueda
+public record RespuestasModificadasEvent(Collection<Long> topicoIds) {
+
+    public static RespuestasModificadasEvent de(Long topicoId) {
+        return new RespuestasModificadasEvent(Set.of(topicoId));
+    }
+}
@@ -0,0 +1,11 @@
+package com.desafio.forohub.domain.respuesta.dto;
+
+import java.time.LocalDateTime;
+
+//Cambia cuando cambia DetalleRespuestaDTO: la respuesta se toca al editarla y el tópico al cambiar su título
+public record VersionRespuestaDTO(
+        Long id,
+        LocalDateTime ultimaActualizacion,
+        LocalDateTime ultimaActualizacionTopico
+) {
+}
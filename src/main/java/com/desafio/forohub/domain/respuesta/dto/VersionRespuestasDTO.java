@@ -0,0 +1,12 @@
+package com.desafio.forohub.domain.respuesta.dto;
+
+import java.time.LocalDateTime;
+
+//Sello del listado de respuestas de un tópico: altas, bajas y ediciones cambian el total o la fecha máxima;
+//la fecha del tópico cubre su título, que va en cada DetalleRespuestaDTO
+public record VersionRespuestasDTO(
+        Long total,
+        LocalDateTime ultimaActualizacion,
+        LocalDateTime ultimaActualizacionTopico
+) {
+}
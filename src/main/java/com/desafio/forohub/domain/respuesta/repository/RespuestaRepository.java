@@ -1,20 +1,133 @@
 package com.desafio.forohub.domain.respuesta.repository;
 
 import com.desafio.forohub.domain.respuesta.Respuesta;
+import com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO;
+import com.desafio.forohub.domain.respuesta.dto.VersionRespuestaDTO;
+import com.desafio.forohub.domain.respuesta.dto.VersionRespuestasDTO;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RespuestaRepository extends JpaRepository<Respuesta, Long> {
+public interface RespuestaRepository extends JpaRepository<Respuesta, Long>, RespuestaRepositoryCustom {
+
+    //Proyección compartida por los listados, el detalle, la solución y la paginación keyset
+    static final String SELECT_DETALLES = """
+            select new com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO(
+                r.id, r.mensaje, r.fechaCreacion, r.ultimaActualizacion, r.solucion, r.borrado,
+                u.id, u.username, t.id, t.titulo)
+            """;
+    static final String JOINS_DETALLES = """
+            from Respuesta r join r.usuario u join r.topico t
+            """;
 
-    Page<Respuesta> findAllByTopicoId(Long topicoId, Pageable pageable);
+    //Filtran por la columna FK: la consulta derivada añadía un left join con el que H2 recorre la tabla entera
+    @Query("select r from Respuesta r where r.topico.id = :topicoId")
+    Page<Respuesta> findAllByTopicoId(@Param("topicoId") Long topicoId, Pageable pageable);
 
-    Page<Respuesta> findAllByUsuarioId(Long usuarioId, Pageable pageable);
+    @Query("select r from Respuesta r where r.usuario.id = :usuarioId")
+    Page<Respuesta> findAllByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
 
     Respuesta getReferenceByTopicoId(Long id);
 
     @SuppressWarnings("null")
     Respuesta getReferenceById(Long id);
+
+    //Carga la respuesta con su usuario y tópico en una sola consulta para validarla y actualizarla
+    @Query("select r from Respuesta r join fetch r.usuario join fetch r.topico where r.id = :id")
+    Optional<Respuesta> findConUsuarioYTopicoById(@Param("id") Long id);
+
+    //Proyecciones con join: usuario y tópico se leen en la misma consulta, sin N+1 ni LazyInitializationException
+    @Query(value = SELECT_DETALLES + JOINS_DETALLES + """
+            where t.id = :topicoId
+            """,
+            countQuery = "select count(r) from Respuesta r where r.topico.id = :topicoId")
+    Page<DetalleRespuestaDTO> findAllDetallesByTopicoId(@Param("topicoId") Long topicoId, Pageable pageable);
+
+    @Query(value = SELECT_DETALLES + JOINS_DETALLES + """
+            where u.id = :usuarioId
+            """,
+            countQuery = "select count(r) from Respuesta r where r.usuario.id = :usuarioId")
+    Page<DetalleRespuestaDTO> findAllDetallesByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    //Variantes Slice para formato=ligero: piden una fila de más en lugar de hacer COUNT
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.id = :topicoId
+            """)
+    Slice<DetalleRespuestaDTO> findSliceDetallesByTopicoId(@Param("topicoId") Long topicoId, Pageable pageable);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where u.id = :usuarioId
+            """)
+    Slice<DetalleRespuestaDTO> findSliceDetallesByUsuarioId(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where r.id = :id
+            """)
+    Optional<DetalleRespuestaDTO> findDetallesById(@Param("id") Long id);
+
+    //Solución de un tópico siguiendo topicos.solucion_respuesta_id: joins por clave primaria, sin recorrer sus respuestas
+    @Query(SELECT_DETALLES + """
+            from Topico t join Respuesta r on r.id = t.solucionRespuestaId join r.usuario u
+            where t.id = :topicoId and r.solucion = true and r.borrado = false
+            """)
+    Optional<DetalleRespuestaDTO> findSolucionByTopicoId(@Param("topicoId") Long topicoId);
+
+    //Sello del listado de respuestas de un tópico: el tópico por clave primaria y sus respuestas por
+    //idx_respuestas_topico_ultima_actualizacion; vacío si el tópico no está en la tabla viva
+    @Query("""
+            select new com.desafio.forohub.domain.respuesta.dto.VersionRespuestasDTO(
+                count(r), max(r.ultimaActualizacion), t.ultimaActualizacion)
+            from Topico t left join Respuesta r on r.topico.id = t.id
+            where t.id = :topicoId
+            group by t.id, t.ultimaActualizacion
+            """)
+    Optional<VersionRespuestasDTO> findVersionByTopicoId(@Param("topicoId") Long topicoId);
+
+    //Página de respuestas sólo con id y versión; el detalle se lee sólo para las que no tienen fragmento JSON
+    @Query("""
+            select new com.desafio.forohub.domain.respuesta.dto.VersionRespuestaDTO(
+                r.id, r.ultimaActualizacion, t.ultimaActualizacion)
+            from Respuesta r join r.topico t
+            where t.id = :topicoId
+            """)
+    List<VersionRespuestaDTO> findVersionesByTopicoId(@Param("topicoId") Long topicoId, Pageable pageable);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where r.id in :ids
+            """)
+    List<DetalleRespuestaDTO> findAllDetallesByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Paginación keyset en orden ascendente, igual que el listado paginado por tópico
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.id = :topicoId
+              and (r.ultimaActualizacion > :fecha or (r.ultimaActualizacion = :fecha and r.id > :id))
+            order by r.ultimaActualizacion asc, r.id asc
+            """)
+    List<DetalleRespuestaDTO> findDetallesByTopicoIdDespuesDe(@Param("topicoId") Long topicoId,
+                                                              @Param("fecha") LocalDateTime fecha,
+                                                              @Param("id") Long id,
+                                                              Pageable pageable);
+
+    //Borrado lógico en un solo UPDATE condicional; 0 filas afectadas significa que otra petición ya la borró
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "respuestas"))
+    @Modifying
+    @Query(value = """
+            update respuestas set borrado = true, ultima_actualizacion = :fecha
+            where id = :id and borrado = false
+            """, nativeQuery = true)
+    int marcarBorrada(@Param("id") Long id, @Param("fecha") LocalDateTime fecha);
 }
@@ -0,0 +1,11 @@
+package com.desafio.forohub.domain.respuesta.repository;
+
+import com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO;
+
+import java.util.stream.Stream;
+
+public interface RespuestaRepositoryCustom {
+
+    //Exportación completa en streaming; ver LecturaSecuencial
+    Stream<DetalleRespuestaDTO> streamAllDetalles();
+}
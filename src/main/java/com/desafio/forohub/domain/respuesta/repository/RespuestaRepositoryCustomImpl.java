@@ -0,0 +1,34 @@
+package com.desafio.forohub.domain.respuesta.repository;
+
+import com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO;
+import com.desafio.forohub.infra.persistencia.LecturaSecuencial;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.sql.DataSource;
+import java.util.stream.Stream;
+
+public class RespuestaRepositoryCustomImpl implements RespuestaRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final LecturaSecuencial lecturaSecuencial;
+
+    public RespuestaRepositoryCustomImpl(DataSource dataSource,
+                                         @Value("${api.lectura-secuencial.fetch-size:500}") int fetchSize) {
+        this.lecturaSecuencial = new LecturaSecuencial(dataSource, fetchSize);
+    }
+
+    @Override
+    public Stream<DetalleRespuestaDTO> streamAllDetalles() {
+        return lecturaSecuencial.stream(entityManager.createQuery("""
+                select new com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO(
+                    r.id, r.mensaje, r.fechaCreacion, r.ultimaActualizacion, r.solucion, r.borrado,
+                    u.id, u.username, t.id, t.titulo)
+                from Respuesta r join r.usuario u join r.topico t
+                order by r.id
+                """, DetalleRespuestaDTO.class));
+    }
+}
@@ -0,0 +1,13 @@
+package com.desafio.forohub.domain.respuesta.validations;
+
+import com.desafio.forohub.domain.topico.Topico;
+import com.desafio.forohub.domain.usuario.Usuario;
+
+import java.util.Optional;
+
+//Entidades referenciadas por la solicitud, cargadas una sola vez por el controlador y compartidas con los validadores
+public record ContextoRespuesta(
+        Optional<Usuario> usuario,
+        Optional<Topico> topico
+) {
+}
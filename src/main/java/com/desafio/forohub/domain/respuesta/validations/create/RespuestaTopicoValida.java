@@ -1,27 +1,23 @@
 package com.desafio.forohub.domain.respuesta.validations.create;
 
 import com.desafio.forohub.domain.respuesta.dto.CrearRespuestaDTO;
+import com.desafio.forohub.domain.respuesta.validations.ContextoRespuesta;
 import com.desafio.forohub.domain.topico.Estado;
-import com.desafio.forohub.domain.topico.repository.TopicoRepository;
 import jakarta.validation.ValidationException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RespuestaTopicoValida implements ValidarRespuestaCreada{
 
-    @Autowired
-    private TopicoRepository repository;
-
     @Override
-    public void validate(CrearRespuestaDTO data) {
-        var topicoExiste = repository.existsById(data.topicoId());
+    public void validate(CrearRespuestaDTO data, ContextoRespuesta contexto) {
+        var topico = contexto.topico();
 
-        if (!topicoExiste){
+        if (topico.isEmpty()){
             throw new ValidationException("Este topico no existe.");
         }
 
-        var topicoAbierto = repository.findById(data.topicoId()).get().getEstado();
+        var topicoAbierto = topico.get().getEstado();
 
         if(topicoAbierto != Estado.ABIERTO){
             throw new ValidationException("Este topico no esta abierto.");
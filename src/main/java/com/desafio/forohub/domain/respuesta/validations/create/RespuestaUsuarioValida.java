@@ -1,26 +1,22 @@
 package com.desafio.forohub.domain.respuesta.validations.create;
 
 import com.desafio.forohub.domain.respuesta.dto.CrearRespuestaDTO;
-import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import com.desafio.forohub.domain.respuesta.validations.ContextoRespuesta;
 import jakarta.validation.ValidationException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RespuestaUsuarioValida implements ValidarRespuestaCreada{
 
-    @Autowired
-    private UsuarioRepository repository;
-
     @Override
-    public void validate(CrearRespuestaDTO data) {
-        var usuarioExiste = repository.existsById(data.usuarioId());
+    public void validate(CrearRespuestaDTO data, ContextoRespuesta contexto) {
+        var usuario = contexto.usuario();
 
-        if(!usuarioExiste){
+        if(usuario.isEmpty()){
             throw new ValidationException("Este usuario no existe");
         }
 
-        var usuarioHabilitado = repository.findById(data.usuarioId()).get().isEnabled();
+        var usuarioHabilitado = usuario.get().isEnabled();
 
         if(!usuarioHabilitado){
             throw new ValidationException("Este usuario no esta habilitado");
@@ -1,7 +1,8 @@
 package com.desafio.forohub.domain.respuesta.validations.create;
 
 import com.desafio.forohub.domain.respuesta.dto.CrearRespuestaDTO;
+import com.desafio.forohub.domain.respuesta.validations.ContextoRespuesta;
 
 public interface ValidarRespuestaCreada {
-    void validate(CrearRespuestaDTO data);
+    void validate(CrearRespuestaDTO data, ContextoRespuesta contexto);
 }
@@ -1,8 +1,9 @@
 package com.desafio.forohub.domain.respuesta.validations.update;
 
+import com.desafio.forohub.domain.respuesta.Respuesta;
 import com.desafio.forohub.domain.respuesta.dto.ActualizarRespuestaDTO;
 
 public interface ValidarRespuestaActualizada {
 
-    void validate(ActualizarRespuestaDTO data, Long respuestaId);
+    void validate(ActualizarRespuestaDTO data, Respuesta respuesta);
 }
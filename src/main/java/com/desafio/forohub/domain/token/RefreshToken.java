@@ -0,0 +1,48 @@
+package com.desafio.forohub.domain.token;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "refresh_tokens")
+@Entity(name = "RefreshToken")
+@EqualsAndHashCode(of = "id")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //Sólo se persiste el SHA-256 del token, nunca el valor entregado al cliente
+    @Column(name = "token_hash")
+    private String tokenHash;
+
+    private String familia;
+
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
+    @Column(name = "expira_en")
+    private LocalDateTime expiraEn;
+
+    private Boolean usado;
+
+    public RefreshToken(String tokenHash, String familia, Long usuarioId, Integer tokenVersion, LocalDateTime expiraEn) {
+        this.tokenHash = tokenHash;
+        this.familia = familia;
+        this.usuarioId = usuarioId;
+        this.tokenVersion = tokenVersion;
+        this.expiraEn = expiraEn;
+        this.usado = false;
+    }
+}
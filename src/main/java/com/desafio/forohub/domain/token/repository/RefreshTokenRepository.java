@@ -0,0 +1,29 @@
+package com.desafio.forohub.domain.token.repository;
+
+import com.desafio.forohub.domain.token.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken r set r.usado = true where r.tokenHash = :tokenHash and r.usado = false")
+    int marcarUsado(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.familia = :familia")
+    int eliminarFamilia(@Param("familia") String familia);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiraEn < :fecha")
+    int eliminarExpirados(@Param("fecha") LocalDateTime fecha);
+}
@@ -0,0 +1,31 @@
+package com.desafio.forohub.domain.topico;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+//Huella de 32 bytes de un tópico: dos tópicos con el mismo título y mensaje (ignorando mayúsculas y espacios) chocan
+public final class ContenidoHash {
+
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private ContenidoHash() {
+    }
+
+    public static byte[] de(String titulo, String mensaje) {
+        var contenido = normalizar(titulo) + '\u0000' + normalizar(mensaje);
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contenido.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String normalizar(String texto) {
+        var nfc = Normalizer.normalize(texto, Normalizer.Form.NFC);
+        return ESPACIOS.matcher(nfc.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -11,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Getter
 @NoArgsConstructor
@@ -21,7 +22,9 @@ import java.time.LocalDateTime;
 public class Topico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "topicos_id")
+    @TableGenerator(name = "topicos_id", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente", pkColumnValue = "topicos", allocationSize = 50)
     private Long id;
     private String titulo;
     private String mensaje;
@@ -35,6 +38,26 @@ public class Topico {
     @Enumerated(EnumType.STRING)
     private Estado estado;
 
+    @Column(name = "contenido_hash")
+    private byte[] contenidoHash;
+
+    //Sólo los escriben los UPDATE atómicos de TopicoRepository; la entidad nunca los sobrescribe con un valor leído antes
+    @Column(name = "reply_count", insertable = false, updatable = false)
+    private Integer cantidadRespuestas;
+
+    @Column(name = "last_reply_at", insertable = false, updatable = false)
+    private LocalDateTime ultimaRespuesta;
+
+    @Column(name = "last_reply_user_id", insertable = false, updatable = false)
+    private Long ultimaRespuestaUsuarioId;
+
+    @Column(name = "solucion_respuesta_id")
+    private Long solucionRespuestaId;
+
+    //Lo escribe en lotes ContadorVisitas
+    @Column(name = "view_count", insertable = false, updatable = false)
+    private Long visitas;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
@@ -50,11 +73,16 @@ public class Topico {
         this.fechaCreacion = LocalDateTime.now();
         this.ultimaActualizacion = LocalDateTime.now();
         this.estado = Estado.ABIERTO;
+        this.contenidoHash = ContenidoHash.de(this.titulo, this.mensaje);
+        this.cantidadRespuestas = 0;
+        this.visitas = 0L;
         this.usuario = usuario;
         this.curso = curso;
     }
 
     public void actualizarTopicoConCurso(ActualizarTopicoDTO actualizarTopicoDTO, Curso curso) {
+        var tituloAnterior = this.titulo;
+        var mensajeAnterior = this.mensaje;
         if (actualizarTopicoDTO.titulo() != null){
             this.titulo = actualizarTopicoDTO.titulo();
         }
@@ -67,11 +95,14 @@ public class Topico {
         if (actualizarTopicoDTO.cursoId() != null){
             this.curso = curso;
         }
+        recalcularHashSiCambio(tituloAnterior, mensajeAnterior);
         this.ultimaActualizacion = LocalDateTime.now();
 
     }
 
     public void actualizarTopico(ActualizarTopicoDTO actualizarTopicoDTO){
+        var tituloAnterior = this.titulo;
+        var mensajeAnterior = this.mensaje;
         if (actualizarTopicoDTO.titulo() != null){
             this.titulo = actualizarTopicoDTO.titulo();
         }
@@ -81,12 +112,22 @@ public class Topico {
         if(actualizarTopicoDTO.estado() != null){
             this.estado = actualizarTopicoDTO.estado();
         }
+        recalcularHashSiCambio(tituloAnterior, mensajeAnterior);
         this.ultimaActualizacion = LocalDateTime.now();
     }
 
+    //Sólo si cambia el contenido: los duplicados históricos tienen el hash a NULL (V9) y calcularlo al cerrarlos
+    //o moverlos de curso chocaría con uk_topicos_contenido_hash
+    private void recalcularHashSiCambio(String tituloAnterior, String mensajeAnterior) {
+        if (!Objects.equals(tituloAnterior, this.titulo) || !Objects.equals(mensajeAnterior, this.mensaje)) {
+            this.contenidoHash = ContenidoHash.de(this.titulo, this.mensaje);
+        }
+    }
+
     public void eliminarTopico(){
 
         this.estado = Estado.CERRADO;
+        this.ultimaActualizacion = LocalDateTime.now();
     }
 
     public void setEstado(Estado estado){
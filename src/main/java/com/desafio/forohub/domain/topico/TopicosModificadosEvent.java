@@ -0,0 +1,12 @@
+package com.desafio.forohub.domain.topico;
+
+import java.util.Collection;
+import java.util.Set;
+
+//Se publica dentro de la transacción que crea o modifica tópicos; los oyentes actúan tras el commit
+public record TopicosModificadosEvent(Collection<Long> ids) {
+
+    public static TopicosModificadosEvent de(Long id) {
+        return new TopicosModificadosEvent(Set.of(id));
+    }
+}
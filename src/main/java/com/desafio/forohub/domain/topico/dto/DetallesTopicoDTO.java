@@ -15,7 +15,12 @@ public record DetallesTopicoDTO(
         Estado estado,
         String usuario,
         String curso,
-        Categoria categoriaCurso
+        Categoria categoriaCurso,
+        Integer cantidadRespuestas,
+        LocalDateTime ultimaRespuesta,
+        Long ultimaRespuestaUsuarioId,
+        boolean tieneSolucion,
+        Long visitas
 
 ) {
 
@@ -28,7 +33,12 @@ public record DetallesTopicoDTO(
                 topico.getEstado(),
                 topico.getUsuario().getUsername(),
                 topico.getCurso().getName(),
-                topico.getCurso().getCategoria()
+                topico.getCurso().getCategoria(),
+                topico.getCantidadRespuestas(),
+                topico.getUltimaRespuesta(),
+                topico.getUltimaRespuestaUsuarioId(),
+                topico.getSolucionRespuestaId() != null,
+                topico.getVisitas()
         );
     }
 
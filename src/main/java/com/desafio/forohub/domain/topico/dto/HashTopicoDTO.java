@@ -0,0 +1,7 @@
+package com.desafio.forohub.domain.topico.dto;
+
+public record HashTopicoDTO(
+        Long id,
+        byte[] contenidoHash
+) {
+}
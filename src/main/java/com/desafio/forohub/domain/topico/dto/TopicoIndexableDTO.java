@@ -0,0 +1,12 @@
+package com.desafio.forohub.domain.topico.dto;
+
+import com.desafio.forohub.domain.topico.Estado;
+
+public record TopicoIndexableDTO(
+        Long id,
+        String titulo,
+        String mensaje,
+        Estado estado,
+        Long cursoId
+) {
+}
@@ -0,0 +1,18 @@
+package com.desafio.forohub.domain.topico.dto;
+
+import com.desafio.forohub.domain.curso.Categoria;
+import com.desafio.forohub.domain.topico.Estado;
+
+import java.time.LocalDateTime;
+
+//Columnas que cambian cuando cambia DetallesTopicoDTO; título, mensaje y solución mueven ultimaActualizacion
+public record VersionTopicoDTO(
+        LocalDateTime ultimaActualizacion,
+        Estado estado,
+        Integer cantidadRespuestas,
+        LocalDateTime ultimaRespuesta,
+        Long visitas,
+        String curso,
+        Categoria categoriaCurso
+) {
+}
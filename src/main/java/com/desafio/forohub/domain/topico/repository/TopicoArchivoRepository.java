@@ -0,0 +1,178 @@
+package com.desafio.forohub.domain.topico.repository;
+
+import com.desafio.forohub.domain.curso.Categoria;
+import com.desafio.forohub.domain.respuesta.dto.DetalleRespuestaDTO;
+import com.desafio.forohub.domain.topico.Estado;
+import com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO;
+import jakarta.validation.ValidationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Acceso a topicos_archivo y respuestas_archivo. No hay entidades JPA para el archivo: sólo se lee por id,
+ * en listados que lo piden explícitamente y desde el trabajo que mueve las filas.
+ */
+@Repository
+public class TopicoArchivoRepository {
+
+    private static final String DETALLES_TOPICO = """
+            select t.id, t.titulo, t.mensaje, t.fecha_creacion, t.ultima_actualizacion, t.estado,
+                   u.username as usuario, c.name as curso, c.categoria as categoria_curso,
+                   t.reply_count, t.last_reply_at, t.last_reply_user_id, t.solucion_respuesta_id, t.view_count
+            from %s t join usuarios u on u.id = t.usuario_id join cursos c on c.id = t.curso_id
+            """;
+
+    private static final String DETALLES_RESPUESTA = """
+            select r.id, r.mensaje, r.fecha_creacion, r.ultima_actualizacion, r.solucion, r.borrado,
+                   u.id as usuario_id, u.username, t.id as topico_id, t.titulo
+            from respuestas_archivo r join usuarios u on u.id = r.usuario_id join topicos_archivo t on t.id = r.topico_id
+            """;
+
+    //Propiedades de DetallesTopicoDTO por las que se puede ordenar el listado combinado
+    private static final Map<String, String> COLUMNAS_ORDEN = Map.of(
+            "id", "id",
+            "titulo", "titulo",
+            "fechaCreacion", "fecha_creacion",
+            "ultimaActualizacion", "ultima_actualizacion",
+            "visitas", "view_count");
+
+    //Propiedades de DetalleRespuestaDTO por las que se puede ordenar las respuestas archivadas
+    private static final Map<String, String> COLUMNAS_ORDEN_RESPUESTA = Map.of(
+            "id", "r.id",
+            "fechaCreacion", "r.fecha_creacion",
+            "ultimaActualizacion", "r.ultima_actualizacion");
+
+    private static final RowMapper<DetallesTopicoDTO> TOPICO = (rs, fila) -> new DetallesTopicoDTO(
+            rs.getLong("id"),
+            rs.getString("titulo"),
+            rs.getString("mensaje"),
+            rs.getObject("fecha_creacion", LocalDateTime.class),
+            rs.getObject("ultima_actualizacion", LocalDateTime.class),
+            Estado.valueOf(rs.getString("estado")),
+            rs.getString("usuario"),
+            rs.getString("curso"),
+            Categoria.valueOf(rs.getString("categoria_curso")),
+            rs.getInt("reply_count"),
+            rs.getObject("last_reply_at", LocalDateTime.class),
+            rs.getObject("last_reply_user_id", Long.class),
+            rs.getObject("solucion_respuesta_id") != null,
+            rs.getLong("view_count"));
+
+    private static final RowMapper<DetalleRespuestaDTO> RESPUESTA = (rs, fila) -> new DetalleRespuestaDTO(
+            rs.getLong("id"),
+            rs.getString("mensaje"),
+            rs.getObject("fecha_creacion", LocalDateTime.class),
+            rs.getObject("ultima_actualizacion", LocalDateTime.class),
+            rs.getBoolean("solucion"),
+            rs.getBoolean("borrado"),
+            rs.getLong("usuario_id"),
+            rs.getString("username"),
+            rs.getLong("topico_id"),
+            rs.getString("titulo"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public TopicoArchivoRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<DetallesTopicoDTO> findDetallesById(Long id) {
+        return jdbc.query(DETALLES_TOPICO.formatted("topicos_archivo") + " where t.id = :id",
+                Map.of("id", id), TOPICO).stream().findFirst();
+    }
+
+    public Optional<DetalleRespuestaDTO> findRespuestaById(Long id) {
+        return jdbc.query(DETALLES_RESPUESTA + " where r.id = :id", Map.of("id", id), RESPUESTA).stream().findFirst();
+    }
+
+    public Optional<DetalleRespuestaDTO> findSolucionByTopicoId(Long topicoId) {
+        return jdbc.query(DETALLES_RESPUESTA + " where r.id = t.solucion_respuesta_id and t.id = :id"
+                        + " and r.solucion = true and r.borrado = false",
+                Map.of("id", topicoId), RESPUESTA).stream().findFirst();
+    }
+
+    //Respuestas de un tópico ya archivado, con el mismo orden y paginación que las de respuestas
+    public Page<DetalleRespuestaDTO> findRespuestasByTopicoId(Long topicoId, Pageable pageable) {
+        var sql = DETALLES_RESPUESTA + " where r.topico_id = :topicoId order by "
+                + orden(pageable, COLUMNAS_ORDEN_RESPUESTA, "r.id") + " limit :limite offset :desde";
+        var parametros = new MapSqlParameterSource()
+                .addValue("topicoId", topicoId)
+                .addValue("limite", pageable.getPageSize())
+                .addValue("desde", pageable.getOffset());
+        List<DetalleRespuestaDTO> contenido = jdbc.query(sql, parametros, RESPUESTA);
+        Long total = jdbc.queryForObject("select count(*) from respuestas_archivo where topico_id = :topicoId",
+                parametros, Long.class);
+        return new PageImpl<>(contenido, pageable, total == null ? 0 : total);
+    }
+
+    //Listado de /topicos/all con includeArchived: UNION ALL de ambas tablas, con el mismo orden y paginación
+    public Page<DetallesTopicoDTO> findAllDetallesIncluyendoArchivo(Pageable pageable) {
+        var sql = "select * from (" + DETALLES_TOPICO.formatted("topicos") + " union all "
+                + DETALLES_TOPICO.formatted("topicos_archivo") + ") x order by " + orden(pageable, COLUMNAS_ORDEN, "id")
+                + " limit :limite offset :desde";
+        var parametros = new MapSqlParameterSource()
+                .addValue("limite", pageable.getPageSize())
+                .addValue("desde", pageable.getOffset());
+        List<DetallesTopicoDTO> contenido = jdbc.query(sql, parametros, TOPICO);
+        Long total = jdbc.queryForObject(
+                "select (select count(*) from topicos) + (select count(*) from topicos_archivo)", Map.of(), Long.class);
+        return new PageImpl<>(contenido, pageable, total == null ? 0 : total);
+    }
+
+    private static String orden(Pageable pageable, Map<String, String> columnas, String desempate) {
+        var orden = new StringBuilder();
+        for (Sort.Order o : pageable.getSort()) {
+            var columna = columnas.get(o.getProperty());
+            if (columna == null) {
+                throw new ValidationException("No se puede ordenar por " + o.getProperty() + " al incluir archivados.");
+            }
+            orden.append(columna).append(o.isAscending() ? " asc, " : " desc, ");
+        }
+        return orden.append(desempate).append(" desc").toString();
+    }
+
+    //Bloquea el siguiente tramo archivable; debe llamarse dentro de la transacción que lo mueve
+    public List<Long> bloquearArchivables(LocalDateTime limite, int cantidad) {
+        return jdbc.queryForList("""
+                select id from topicos
+                where estado = 'CERRADO' and ultima_actualizacion < :limite
+                order by id
+                limit :cantidad
+                for update
+                """, new MapSqlParameterSource().addValue("limite", limite).addValue("cantidad", cantidad), Long.class);
+    }
+
+    public void archivar(List<Long> ids, LocalDateTime ahora) {
+        var parametros = new MapSqlParameterSource().addValue("ids", ids).addValue("ahora", ahora);
+        jdbc.update("""
+                insert into topicos_archivo (id, estado, fecha_creacion, mensaje, titulo, ultima_actualizacion, curso_id,
+                    usuario_id, contenido_hash, reply_count, last_reply_at, last_reply_user_id, solucion_respuesta_id,
+                    view_count, archivado_en)
+                select id, estado, fecha_creacion, mensaje, titulo, ultima_actualizacion, curso_id,
+                    usuario_id, contenido_hash, reply_count, last_reply_at, last_reply_user_id, solucion_respuesta_id,
+                    view_count, :ahora
+                from topicos where id in (:ids)
+                """, parametros);
+        jdbc.update("""
+                insert into respuestas_archivo (id, borrado, fecha_creacion, mensaje, solucion, ultima_actualizacion,
+                    topico_id, usuario_id)
+                select id, borrado, fecha_creacion, mensaje, solucion, ultima_actualizacion, topico_id, usuario_id
+                from respuestas where topico_id in (:ids)
+                """, parametros);
+        //topicos.solucion_respuesta_id referencia a respuestas: se suelta antes de borrarlas
+        jdbc.update("update topicos set solucion_respuesta_id = null where id in (:ids)", parametros);
+        jdbc.update("delete from respuestas where topico_id in (:ids)", parametros);
+        jdbc.update("delete from topicos where id in (:ids)", parametros);
+    }
+}
@@ -3,19 +3,182 @@ package com.desafio.forohub.domain.topico.repository;
 
 import com.desafio.forohub.domain.topico.Estado;
 import com.desafio.forohub.domain.topico.Topico;
+import com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO;
+import com.desafio.forohub.domain.topico.dto.HashTopicoDTO;
+import com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO;
+import com.desafio.forohub.domain.topico.dto.VersionTopicoDTO;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TopicoRepository extends JpaRepository<Topico, Long> {
+public interface TopicoRepository extends JpaRepository<Topico, Long>, TopicoRepositoryCustom {
+
+    //Proyección compartida por los listados, el detalle y la paginación keyset
+    static final String SELECT_DETALLES = """
+            select new com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.ultimaActualizacion, t.estado,
+                u.username, c.name, c.categoria,
+                t.cantidadRespuestas, t.ultimaRespuesta, t.ultimaRespuestaUsuarioId,
+                case when t.solucionRespuestaId is not null then true else false end, t.visitas)
+            """;
+    static final String JOINS_DETALLES = """
+            from Topico t join t.usuario u join t.curso c
+            """;
 
     Page<Topico> findAll(Pageable pageable);
 
     Page<Topico> findAllByEstadoIsNot(Estado estado, Pageable pageable);
 
-    Boolean existsByTituloAndMensaje(String titulo, String mensaje);
-
     Topico findByTitulo(String titulo);
-}
\ No newline at end of file
+
+    //Una sola búsqueda por el índice único de contenido_hash; devuelve el id del tópico existente
+    @Query("select t.id from Topico t where t.contenidoHash = :contenidoHash")
+    Optional<Long> findIdByContenidoHash(@Param("contenidoHash") byte[] contenidoHash);
+
+    @Query("select new com.desafio.forohub.domain.topico.dto.HashTopicoDTO(t.id, t.contenidoHash) from Topico t where t.contenidoHash in :hashes")
+    List<HashTopicoDTO> findAllByContenidoHashIn(@Param("hashes") Collection<byte[]> hashes);
+
+    //Proyecciones con join: usuario y curso se leen en la misma consulta, sin N+1 ni LazyInitializationException
+    @Query(value = SELECT_DETALLES + JOINS_DETALLES,
+            countQuery = "select count(t) from Topico t")
+    Page<DetallesTopicoDTO> findAllDetalles(Pageable pageable);
+
+    @Query(value = SELECT_DETALLES + JOINS_DETALLES + """
+            where t.estado <> :estado
+            """,
+            countQuery = "select count(t) from Topico t where t.estado <> :estado")
+    Page<DetallesTopicoDTO> findAllDetallesByEstadoIsNot(@Param("estado") Estado estado, Pageable pageable);
+
+    //Variantes Slice para formato=ligero: piden una fila de más en lugar de hacer COUNT
+    @Query(SELECT_DETALLES + JOINS_DETALLES)
+    Slice<DetallesTopicoDTO> findSliceDetalles(Pageable pageable);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.estado <> :estado
+            """)
+    Slice<DetallesTopicoDTO> findSliceDetallesByEstadoIsNot(@Param("estado") Estado estado, Pageable pageable);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.id = :id
+            """)
+    Optional<DetallesTopicoDTO> findDetallesById(@Param("id") Long id);
+
+    //Paginación keyset: se busca por índice a partir de la última fila vista, sin OFFSET ni COUNT
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.ultimaActualizacion < :fecha or (t.ultimaActualizacion = :fecha and t.id < :id)
+            order by t.ultimaActualizacion desc, t.id desc
+            """)
+    List<DetallesTopicoDTO> findDetallesDespuesDe(@Param("fecha") LocalDateTime fecha, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.estado <> :estado
+              and (t.ultimaActualizacion < :fecha or (t.ultimaActualizacion = :fecha and t.id < :id))
+            order by t.ultimaActualizacion desc, t.id desc
+            """)
+    List<DetallesTopicoDTO> findDetallesByEstadoIsNotDespuesDe(@Param("estado") Estado estado,
+                                                               @Param("fecha") LocalDateTime fecha,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
+
+    //Sello para GET condicional: todo lo que cambia en DetallesTopicoDTO, resuelto por clave primaria
+    @Query("""
+            select new com.desafio.forohub.domain.topico.dto.VersionTopicoDTO(
+                t.ultimaActualizacion, t.estado, t.cantidadRespuestas, t.ultimaRespuesta, t.visitas,
+                c.name, c.categoria)
+            from Topico t join t.curso c where t.id = :id
+            """)
+    Optional<VersionTopicoDTO> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_DETALLES + JOINS_DETALLES + """
+            where t.id in :ids
+            """)
+    List<DetallesTopicoDTO> findAllDetallesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO(t.id, t.titulo, t.mensaje, t.estado, t.curso.id)
+            from Topico t
+            where t.id in :ids
+            """)
+    List<TopicoIndexableDTO> findIndexablesByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Los UPDATE nativos declaran la tabla que tocan: sin ello Hibernate vaciaría todas las regiones del cache de segundo nivel
+    //Cierra el tópico con su solución sólo si sigue abierto; 0 filas afectadas significa que otra petición ganó
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Modifying
+    @Query(value = """
+            update topicos set estado = 'CERRADO', solucion_respuesta_id = :respuestaId, ultima_actualizacion = :fecha
+            where id = :id and estado = 'ABIERTO'
+            """, nativeQuery = true)
+    int marcarSolucion(@Param("id") Long id, @Param("respuestaId") Long respuestaId, @Param("fecha") LocalDateTime fecha);
+
+    //Suelta la solución sólo si sigue siendo esa respuesta (desmarcada o borrada); el estado del tópico no cambia
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Modifying
+    @Query(value = """
+            update topicos set solucion_respuesta_id = null, ultima_actualizacion = :fecha
+            where id = :id and solucion_respuesta_id = :respuestaId
+            """, nativeQuery = true)
+    int soltarSolucion(@Param("id") Long id, @Param("respuestaId") Long respuestaId, @Param("fecha") LocalDateTime fecha);
+
+    //Contadores de respuestas: UPDATE en el sitio, sin leer el valor anterior
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Modifying
+    @Query(value = """
+            update topicos set reply_count = reply_count + 1, last_reply_at = :fecha, last_reply_user_id = :usuarioId
+            where id = :id
+            """, nativeQuery = true)
+    int registrarRespuesta(@Param("id") Long id, @Param("fecha") LocalDateTime fecha, @Param("usuarioId") Long usuarioId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            update topicos t set
+                reply_count = greatest(reply_count - 1, 0),
+                last_reply_at = (select max(r.fecha_creacion) from respuestas r where r.topico_id = t.id and r.borrado = false),
+                last_reply_user_id = (select r.usuario_id from respuestas r where r.topico_id = t.id and r.borrado = false
+                                      order by r.fecha_creacion desc, r.id desc limit 1)
+            where t.id = :id
+            """, nativeQuery = true)
+    int descontarRespuesta(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Modifying
+    @Query(value = """
+            update topicos t set
+                reply_count = (select count(*) from respuestas r where r.topico_id = t.id and r.borrado = false),
+                last_reply_at = (select max(r.fecha_creacion) from respuestas r where r.topico_id = t.id and r.borrado = false),
+                last_reply_user_id = (select r.usuario_id from respuestas r where r.topico_id = t.id and r.borrado = false
+                                      order by r.fecha_creacion desc, r.id desc limit 1)
+            where t.id between :desde and :hasta
+            """, nativeQuery = true)
+    int reconciliarContadores(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "topicos"))
+    @Modifying
+    @Query(value = """
+            update topicos t set
+                reply_count = (select count(*) from respuestas r where r.topico_id = t.id and r.borrado = false),
+                last_reply_at = (select max(r.fecha_creacion) from respuestas r where r.topico_id = t.id and r.borrado = false),
+                last_reply_user_id = (select r.usuario_id from respuestas r where r.topico_id = t.id and r.borrado = false
+                                      order by r.fecha_creacion desc, r.id desc limit 1)
+            where t.id in (:ids)
+            """, nativeQuery = true)
+    int reconciliarContadores(@Param("ids") Collection<Long> ids);
+
+    @Query("select max(t.id) from Topico t")
+    Long findMaxId();
+}
@@ -0,0 +1,15 @@
+package com.desafio.forohub.domain.topico.repository;
+
+import com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO;
+import com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO;
+
+import java.util.stream.Stream;
+
+public interface TopicoRepositoryCustom {
+
+    //Carga del índice de búsqueda en streaming; ver LecturaSecuencial
+    Stream<TopicoIndexableDTO> streamIndexables();
+
+    //Exportación completa en streaming
+    Stream<DetallesTopicoDTO> streamAllDetalles();
+}
@@ -0,0 +1,46 @@
+package com.desafio.forohub.domain.topico.repository;
+
+import com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO;
+import com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO;
+import com.desafio.forohub.infra.persistencia.LecturaSecuencial;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.sql.DataSource;
+import java.util.stream.Stream;
+
+public class TopicoRepositoryCustomImpl implements TopicoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final LecturaSecuencial lecturaSecuencial;
+
+    public TopicoRepositoryCustomImpl(DataSource dataSource,
+                                      @Value("${api.lectura-secuencial.fetch-size:500}") int fetchSize) {
+        this.lecturaSecuencial = new LecturaSecuencial(dataSource, fetchSize);
+    }
+
+    @Override
+    public Stream<TopicoIndexableDTO> streamIndexables() {
+        return lecturaSecuencial.stream(entityManager.createQuery("""
+                select new com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO(t.id, t.titulo, t.mensaje, t.estado, t.curso.id)
+                from Topico t
+                order by t.id
+                """, TopicoIndexableDTO.class));
+    }
+
+    @Override
+    public Stream<DetallesTopicoDTO> streamAllDetalles() {
+        return lecturaSecuencial.stream(entityManager.createQuery("""
+                select new com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO(
+                    t.id, t.titulo, t.mensaje, t.fechaCreacion, t.ultimaActualizacion, t.estado,
+                    u.username, c.name, c.categoria,
+                    t.cantidadRespuestas, t.ultimaRespuesta, t.ultimaRespuestaUsuarioId,
+                    case when t.solucionRespuestaId is not null then true else false end, t.visitas)
+                from Topico t join t.usuario u join t.curso c
+                order by t.id
+                """, DetallesTopicoDTO.class));
+    }
+}
@@ -0,0 +1,14 @@
+package com.desafio.forohub.domain.topico.validations;
+
+import com.desafio.forohub.domain.curso.Curso;
+import com.desafio.forohub.domain.usuario.Usuario;
+
+import java.util.Optional;
+
+//Entidades referenciadas por la solicitud, cargadas una sola vez por el controlador y compartidas con los validadores
+public record ContextoTopico(
+        Optional<Usuario> usuario,
+        Optional<Curso> curso,
+        Optional<Long> duplicadoId
+) {
+}
@@ -1,23 +1,18 @@
 package com.desafio.forohub.domain.topico.validations.create;
 
 import com.desafio.forohub.domain.topico.dto.CrearTopicoDTO;
-import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
 import jakarta.validation.ValidationException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TopicoDuplicado implements ValidarTopicoCreado{
 
-    @Autowired
-    private TopicoRepository topicoRepository;
-
-
     @Override
-    public void validate(CrearTopicoDTO data) {
-        var topicoDuplicado = topicoRepository.existsByTituloAndMensaje(data.titulo(), data.mensaje());
-        if(topicoDuplicado){
-            throw new ValidationException("Este topico ya existe. Revisa /topicos/" + topicoRepository.findByTitulo(data.titulo()).getId());
+    public void validate(CrearTopicoDTO data, ContextoTopico contexto) {
+        var topicoDuplicado = contexto.duplicadoId();
+        if(topicoDuplicado.isPresent()){
+            throw new ValidationException("Este topico ya existe. Revisa /topicos/" + topicoDuplicado.get());
 
         }
     }
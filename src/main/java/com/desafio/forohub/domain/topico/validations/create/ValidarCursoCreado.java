@@ -1,25 +1,21 @@
 package com.desafio.forohub.domain.topico.validations.create;
 
-import com.desafio.forohub.domain.curso.repository.CursoRepository;
 import com.desafio.forohub.domain.topico.dto.CrearTopicoDTO;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
 import jakarta.validation.ValidationException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidarCursoCreado implements ValidarTopicoCreado{
 
-    @Autowired
-    private CursoRepository repository;
-
     @Override
-    public void validate(CrearTopicoDTO data) {
-        var ExisteCurso = repository.existsById(data.cursoId());
-        if(!ExisteCurso){
+    public void validate(CrearTopicoDTO data, ContextoTopico contexto) {
+        var curso = contexto.curso();
+        if(curso.isEmpty()){
             throw new ValidationException("Este curso no existe.");
         }
 
-        var cursoHabilitado = repository.findById(data.cursoId()).get().getActivo();
+        var cursoHabilitado = curso.get().getActivo();
         if(!cursoHabilitado){
             throw new ValidationException("Este curso no esta disponible en este momento.");
         }
@@ -1,8 +1,9 @@
 package com.desafio.forohub.domain.topico.validations.create;
 
 import com.desafio.forohub.domain.topico.dto.CrearTopicoDTO;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
 
 public interface ValidarTopicoCreado {
 
-    void validate(CrearTopicoDTO data);
+    void validate(CrearTopicoDTO data, ContextoTopico contexto);
 }
@@ -1,25 +1,21 @@
 package com.desafio.forohub.domain.topico.validations.create;
 
 import com.desafio.forohub.domain.topico.dto.CrearTopicoDTO;
-import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
 import jakarta.validation.ValidationException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidarTopicoUsuario implements ValidarTopicoCreado{
 
-    @Autowired
-    private UsuarioRepository repository;
-
     @Override
-    public void validate(CrearTopicoDTO data) {
-        var existeUsuario = repository.existsById(data.usuarioId());
-        if (!existeUsuario) {
+    public void validate(CrearTopicoDTO data, ContextoTopico contexto) {
+        var usuario = contexto.usuario();
+        if (usuario.isEmpty()) {
             throw new ValidationException("Este usuario no existe");
         }
 
-        var usuarioHabilitado = repository.findById(data.usuarioId()).get().getEnabled();
+        var usuarioHabilitado = usuario.get().getEnabled();
         if (!usuarioHabilitado) {
             throw new ValidationException("Este usuario fue deshabiliado.");
         }
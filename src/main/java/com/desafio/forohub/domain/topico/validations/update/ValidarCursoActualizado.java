@@ -1,26 +1,22 @@
 package com.desafio.forohub.domain.topico.validations.update;
 
-import com.desafio.forohub.domain.curso.repository.CursoRepository;
 import com.desafio.forohub.domain.topico.dto.ActualizarTopicoDTO;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
 import jakarta.validation.ValidationException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidarCursoActualizado implements ValidarTopicoActualizado{
 
-    @Autowired
-    private CursoRepository repository;
-
     @Override
-    public void validate(ActualizarTopicoDTO data) {
+    public void validate(ActualizarTopicoDTO data, ContextoTopico contexto) {
         if(data.cursoId() != null){
-            var ExisteCurso = repository.existsById(data.cursoId());
-            if (!ExisteCurso){
+            var curso = contexto.curso();
+            if (curso.isEmpty()){
                 throw new ValidationException("Este curso no existe");
             }
 
-            var cursoHabilitado = repository.findById(data.cursoId()).get().getActivo();
+            var cursoHabilitado = curso.get().getActivo();
             if(!cursoHabilitado){
                 throw new ValidationException("Este curso no esta disponible en este momento.");
             }
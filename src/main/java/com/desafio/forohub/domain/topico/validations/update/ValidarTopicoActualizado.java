@@ -1,7 +1,8 @@
 package com.desafio.forohub.domain.topico.validations.update;
 
 import com.desafio.forohub.domain.topico.dto.ActualizarTopicoDTO;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
 
 public interface ValidarTopicoActualizado {
-    void validate(ActualizarTopicoDTO data);
+    void validate(ActualizarTopicoDTO data, ContextoTopico contexto);
 }
@@ -7,6 +7,10 @@ import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,6 +24,9 @@ import java.util.List;
 @Table(name="usuarios")
 @Entity(name="Usuario")
 @EqualsAndHashCode(of = "id")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
+@NaturalIdCache(region = "usuarios-username")
 public class Usuario implements UserDetails{
 
     @SuppressWarnings("unused")
@@ -28,6 +35,7 @@ public class Usuario implements UserDetails{
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @NaturalId
     private String username;
     private String password;
 
@@ -38,6 +46,9 @@ public class Usuario implements UserDetails{
     private String email;
     private Boolean enabled;
 
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
     public Usuario(CrearUsuarioDTO crearUsuarioDTO, String hashedPassword) {
         this.username = crearUsuarioDTO.username();
         this.password = hashedPassword;
@@ -46,14 +57,17 @@ public class Usuario implements UserDetails{
         this.apellido = capitalizado(crearUsuarioDTO.apellido());
         this.email = crearUsuarioDTO.email();
         this.enabled = true;
+        this.tokenVersion = 0;
     }
 
     public void actualizarUsuarioConPassword(ActualizarUsuarioDTO actualizarUsuarioDTO, String hashedPassword) {
         if (actualizarUsuarioDTO.password() != null){
             this.password = hashedPassword;
+            revocarTokens();
         }
-        if (actualizarUsuarioDTO.role() != null){
+        if (actualizarUsuarioDTO.role() != null && actualizarUsuarioDTO.role() != this.role){
             this.role = actualizarUsuarioDTO.role();
+            revocarTokens();
         }
         if (actualizarUsuarioDTO.nombre() != null){
             this.nombre = capitalizado(actualizarUsuarioDTO.nombre());
@@ -65,14 +79,18 @@ public class Usuario implements UserDetails{
             this.email = actualizarUsuarioDTO.email();
         }
         if (actualizarUsuarioDTO.enabled() != null){
+            if (!actualizarUsuarioDTO.enabled() && this.enabled){
+                revocarTokens();
+            }
             this.enabled = actualizarUsuarioDTO.enabled();
         }
     }
 
 
     public void actualizarUsuario(ActualizarUsuarioDTO actualizarUsuarioDTO) {
-        if (actualizarUsuarioDTO.role() != null){
+        if (actualizarUsuarioDTO.role() != null && actualizarUsuarioDTO.role() != this.role){
             this.role = actualizarUsuarioDTO.role();
+            revocarTokens();
         }
         if (actualizarUsuarioDTO.nombre() != null){
             this.nombre = capitalizado(actualizarUsuarioDTO.nombre());
@@ -84,12 +102,21 @@ public class Usuario implements UserDetails{
             this.email = actualizarUsuarioDTO.email();
         }
         if (actualizarUsuarioDTO.enabled() != null){
+            if (!actualizarUsuarioDTO.enabled() && this.enabled){
+                revocarTokens();
+            }
             this.enabled = actualizarUsuarioDTO.enabled();
         }
     }
 
     public void eliminarUsuario(){
         this.enabled = false;
+        revocarTokens();
+    }
+
+    //Invalida todos los JWT emitidos hasta ahora para este usuario
+    public void revocarTokens(){
+        this.tokenVersion = this.tokenVersion + 1;
     }
 
     private String capitalizado(String string) {
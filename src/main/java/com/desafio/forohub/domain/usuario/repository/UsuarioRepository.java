@@ -3,20 +3,25 @@ package com.desafio.forohub.domain.usuario.repository;
 import com.desafio.forohub.domain.usuario.Usuario;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-
-    Optional<Usuario> findByUsername(String username);
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
 
     Optional<Usuario> findByEmail(String email);
 
     Page<Usuario> findAllByEnabledTrue(Pageable pageable);
 
+    //Variantes Slice para formato=ligero: piden una fila de más en lugar de hacer COUNT
+    Slice<Usuario> findSliceBy(Pageable pageable);
+
+    Slice<Usuario> findSliceByEnabledTrue(Pageable pageable);
+
     @SuppressWarnings("null")
     Usuario getReferenceById(Long id);
 
@@ -26,4 +31,6 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Usuario getReferenceByUsername(String username);
 
     Boolean existsByUsername(String username);
+
+    List<Usuario> findAllByTokenVersionGreaterThan(Integer tokenVersion);
 }
\ No newline at end of file
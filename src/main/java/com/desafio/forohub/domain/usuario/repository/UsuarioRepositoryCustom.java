@@ -0,0 +1,11 @@
+package com.desafio.forohub.domain.usuario.repository;
+
+import com.desafio.forohub.domain.usuario.Usuario;
+
+import java.util.Optional;
+
+public interface UsuarioRepositoryCustom {
+
+    //Búsqueda por id natural: la resuelven las regiones usuarios-username y usuarios del cache de segundo nivel
+    Optional<Usuario> findByUsername(String username);
+}
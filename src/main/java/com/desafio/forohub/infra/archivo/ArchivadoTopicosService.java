@@ -0,0 +1,87 @@
+package com.desafio.forohub.infra.archivo;
+
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import com.desafio.forohub.domain.topico.repository.TopicoArchivoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mueve a topicos_archivo y respuestas_archivo los tópicos cerrados sin actividad desde hace
+ * {@code api.archivo.antiguedad}, por tramos cortos con una pausa entre ellos para no competir con el tráfico.
+ * Cada tramo es una transacción: las filas nunca están a la vez en ambas tablas ni en ninguna.
+ */
+@Service
+public class ArchivadoTopicosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivadoTopicosService.class);
+
+    private final TopicoArchivoRepository topicoArchivoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration antiguedad;
+    private final int tamanoTramo;
+    private final Duration pausa;
+    private final int maxTramos;
+
+    public ArchivadoTopicosService(TopicoArchivoRepository topicoArchivoRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${api.archivo.antiguedad:365d}") Duration antiguedad,
+                                   @Value("${api.archivo.chunk-size:200}") int tamanoTramo,
+                                   @Value("${api.archivo.pausa:500ms}") Duration pausa,
+                                   @Value("${api.archivo.max-chunks:500}") int maxTramos) {
+        this.topicoArchivoRepository = topicoArchivoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.antiguedad = antiguedad;
+        this.tamanoTramo = tamanoTramo;
+        this.pausa = pausa;
+        this.maxTramos = maxTramos;
+    }
+
+    @Scheduled(cron = "${api.archivo.cron:0 0 4 * * *}")
+    public void archivar() {
+        var limite = LocalDateTime.now().minus(antiguedad);
+        long archivados = 0;
+        for (int tramo = 0; tramo < maxTramos; tramo++) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                var bloqueados = topicoArchivoRepository.bloquearArchivables(limite, tamanoTramo);
+                if (!bloqueados.isEmpty()) {
+                    topicoArchivoRepository.archivar(bloqueados, LocalDateTime.now());
+                    eventPublisher.publishEvent(new TopicosModificadosEvent(bloqueados));
+                }
+                return bloqueados;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            archivados += ids.size();
+            if (!esperar()) {
+                break;
+            }
+        }
+        if (archivados > 0) {
+            log.info("Archivados {} tópicos cerrados antes de {}", archivados, limite);
+        }
+    }
+
+    private boolean esperar() {
+        try {
+            Thread.sleep(pausa.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.desafio.forohub.infra.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Convierte texto en términos de búsqueda: minúsculas, sin tildes, sin palabras vacías del español
+ * y con un recorte ligero de plurales y vocal final, para que "clase" y "clases" den el mismo término.
+ * Documentos y consultas pasan por el mismo análisis.
+ */
+final class AnalizadorEspanol {
+
+    private static final Set<String> VACIAS = Set.of(
+            "a", "al", "algo", "ante", "como", "con", "cual", "cuando", "de", "del", "desde", "donde", "el", "ella",
+            "en", "entre", "era", "es", "esa", "ese", "eso", "esta", "este", "esto", "fue", "ha", "hay", "la", "las",
+            "le", "les", "lo", "los", "mas", "me", "mi", "muy", "no", "nos", "o", "para", "pero", "por", "que",
+            "se", "si", "sin", "sobre", "son", "su", "sus", "tambien", "te", "tiene", "tu", "un", "una", "uno",
+            "unos", "unas", "y", "ya", "yo");
+
+    private AnalizadorEspanol() {
+    }
+
+    static List<String> terminos(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return terminos;
+        }
+        var normalizado = Normalizer.normalize(texto.toLowerCase(), Normalizer.Form.NFD);
+        var palabra = new StringBuilder();
+        for (int i = 0; i <= normalizado.length(); i++) {
+            char c = i < normalizado.length() ? normalizado.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue; //Tildes y diéresis separadas por NFD
+            }
+            if (Character.isLetterOrDigit(c)) {
+                palabra.append(c);
+            } else if (!palabra.isEmpty()) {
+                agregar(palabra.toString(), terminos);
+                palabra.setLength(0);
+            }
+        }
+        return terminos;
+    }
+
+    private static void agregar(String palabra, List<String> terminos) {
+        if (palabra.length() < 2 || VACIAS.contains(palabra)) {
+            return;
+        }
+        terminos.add(raiz(palabra));
+    }
+
+    private static String raiz(String palabra) {
+        if (!Character.isLetter(palabra.charAt(palabra.length() - 1)) || palabra.length() <= 3) {
+            return palabra;
+        }
+        var raiz = palabra;
+        if (raiz.endsWith("ces") && raiz.length() > 4) {
+            raiz = raiz.substring(0, raiz.length() - 3) + "z"; //luces -> luz
+        } else if (raiz.endsWith("es") && raiz.length() > 4 && !esVocal(raiz.charAt(raiz.length() - 3))) {
+            raiz = raiz.substring(0, raiz.length() - 2); //programaciones -> programacion
+        } else if (raiz.endsWith("s")) {
+            raiz = raiz.substring(0, raiz.length() - 1);
+        }
+        if (raiz.length() > 3 && esVocal(raiz.charAt(raiz.length() - 1))) {
+            raiz = raiz.substring(0, raiz.length() - 1); //clase, clases -> clas
+        }
+        return raiz;
+    }
+
+    private static boolean esVocal(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,331 @@
+package com.desafio.forohub.infra.busqueda;
+
+import com.desafio.forohub.domain.topico.Estado;
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO;
+import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice invertido en memoria sobre título y mensaje de los tópicos, con ranking BM25.
+ * <p>
+ * Cada versión indexada de un tópico recibe un número de documento interno creciente; modificar un
+ * tópico marca su documento anterior como muerto y añade uno nuevo. Las listas de postings sólo crecen
+ * por el final y se compactan cuando los documentos muertos superan un cuarto del total.
+ * La frecuencia de documento usada por BM25 incluye los muertos hasta la siguiente compactación.
+ * <p>
+ * Cada actualización toma un turno antes de leer las filas y, ya con el bloqueo, sólo aplica un tópico si
+ * ninguna actualización con turno posterior lo aplicó antes: una lectura más antigua que termina tarde no
+ * pisa a una más nueva.
+ */
+@Component
+public class IndiceTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTopicos.class);
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TopicoRepository topicoRepository;
+    private final TransactionTemplate lectura;
+    private Datos datos = new Datos();
+    private final AtomicLong turnos = new AtomicLong();
+    //Último turno aplicado a cada tópico; se consulta y modifica con el bloqueo de escritura
+    private final Map<Long, Long> turnosAplicados = new HashMap<>();
+    //Tópicos modificados mientras se construye el índice inicial; se vuelven a cargar al terminar
+    private Set<Long> pendientes;
+
+    public record Coincidencias(List<Long> ids, long total) {
+    }
+
+    public IndiceTopicos(TopicoRepository topicoRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.topicoRepository = topicoRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("forohub.busqueda.documentos", this, i -> i.leer(d -> d.vivosTotal)).register(meterRegistry);
+        Gauge.builder("forohub.busqueda.terminos", this, i -> i.leer(d -> d.postings.size())).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        lock.writeLock().lock();
+        try {
+            pendientes = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Datos construido = null;
+        try {
+            var nuevo = new Datos();
+            lectura.executeWithoutResult(status -> {
+                try (var topicos = topicoRepository.streamIndexables()) {
+                    topicos.forEach(nuevo::agregar);
+                }
+            });
+            nuevo.recortar();
+            construido = nuevo;
+        } catch (RuntimeException e) {
+            //El arranque sigue: la búsqueda sólo verá los tópicos que se modifiquen a partir de ahora
+            log.error("No se pudo construir el índice de búsqueda", e);
+        }
+
+        Set<Long> aplicar;
+        lock.writeLock().lock();
+        try {
+            if (construido != null) {
+                datos = construido;
+            }
+            aplicar = pendientes;
+            pendientes = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (construido == null) {
+            return; //Los cambios durante la carga ya se aplicaron sobre el índice actual
+        }
+        if (!aplicar.isEmpty()) {
+            actualizar(aplicar);
+        }
+        log.info("Índice de búsqueda: {} tópicos, {} términos", construido.vivosTotal, construido.postings.size());
+    }
+
+    @TransactionalEventListener
+    public void alModificarTopicos(TopicosModificadosEvent evento) {
+        actualizar(evento.ids());
+    }
+
+    public Coincidencias buscar(String consulta, Estado estado, Long cursoId, long desde, int cantidad) {
+        var terminos = new HashSet<>(AnalizadorEspanol.terminos(consulta));
+        lock.readLock().lock();
+        try {
+            var d = datos;
+            if (terminos.isEmpty() || d.vivosTotal == 0) {
+                return new Coincidencias(List.of(), 0);
+            }
+            double longitudMedia = (double) d.longitudTotal / d.vivosTotal;
+            Map<Integer, Double> puntuaciones = new HashMap<>();
+            for (var termino : terminos) {
+                var lista = d.postings.get(termino);
+                if (lista == null) {
+                    continue;
+                }
+                int df = Math.min(lista.documentos(), d.vivosTotal);
+                double idf = Math.log(1 + (d.vivosTotal - df + 0.5) / (df + 0.5));
+                lista.recorrer((doc, tf) -> {
+                    if (!d.vivos.get(doc)
+                            || (estado != null && d.estados[doc] != estado.ordinal())
+                            || (cursoId != null && d.cursos[doc] != cursoId)) {
+                        return;
+                    }
+                    double normalizacion = tf + K1 * (1 - B + B * d.longitudes[doc] / longitudMedia);
+                    puntuaciones.merge(doc, idf * tf * (K1 + 1) / normalizacion, Double::sum);
+                });
+            }
+
+            //Una página más allá de las coincidencias está vacía; así desde cabe en un int y el límite no desborda
+            if (desde >= puntuaciones.size()) {
+                return new Coincidencias(List.of(), puntuaciones.size());
+            }
+            //Montículo acotado a desde + cantidad: no se ordena el conjunto entero de coincidencias
+            int limite = (int) Math.min(puntuaciones.size(), desde + cantidad);
+            Comparator<Map.Entry<Integer, Double>> orden = Map.Entry.<Integer, Double>comparingByValue()
+                    .thenComparingLong(e -> d.topicos[e.getKey()]);
+            var mejores = new PriorityQueue<>(orden);
+            for (var entrada : puntuaciones.entrySet()) {
+                mejores.offer(entrada);
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+            var ordenados = new ArrayList<Long>(mejores.size());
+            while (!mejores.isEmpty()) {
+                ordenados.add(d.topicos[mejores.poll().getKey()]);
+            }
+            Collections.reverse(ordenados);
+            var pagina = ordenados.subList((int) desde, ordenados.size());
+            return new Coincidencias(List.copyOf(pagina), puntuaciones.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void actualizar(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long turno = turnos.incrementAndGet();
+        List<TopicoIndexableDTO> filas = lectura.execute(status -> topicoRepository.findIndexablesByIdIn(ids));
+        lock.writeLock().lock();
+        try {
+            if (pendientes != null) {
+                pendientes.addAll(ids);
+            }
+            var encontrados = new HashSet<Long>();
+            for (var fila : filas) {
+                encontrados.add(fila.id());
+                if (esMasReciente(fila.id(), turno)) {
+                    datos.agregar(fila);
+                }
+            }
+            for (var id : ids) {
+                if (!encontrados.contains(id) && esMasReciente(id, turno)) {
+                    datos.quitar(id);
+                }
+            }
+            if (datos.debeCompactarse()) {
+                datos = datos.compactado();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Con el bloqueo de escritura tomado
+    private boolean esMasReciente(Long topicoId, long turno) {
+        var aplicado = turnosAplicados.get(topicoId);
+        if (aplicado != null && aplicado > turno) {
+            return false;
+        }
+        turnosAplicados.put(topicoId, turno);
+        return true;
+    }
+
+    private int leer(ToIntFunction<Datos> lector) {
+        lock.readLock().lock();
+        try {
+            return lector.applyAsInt(datos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Datos {
+        private final Map<String, ListaPostings> postings = new HashMap<>();
+        private final Map<Long, Integer> documentoPorTopico = new HashMap<>();
+        private final BitSet vivos = new BitSet();
+        private long[] topicos = new long[1024];
+        private long[] cursos = new long[1024];
+        private int[] longitudes = new int[1024];
+        private byte[] estados = new byte[1024];
+        private int siguiente;
+        private int vivosTotal;
+        private long longitudTotal;
+
+        void agregar(TopicoIndexableDTO topico) {
+            quitar(topico.id());
+            Map<String, Integer> frecuencias = new HashMap<>();
+            AnalizadorEspanol.terminos(topico.titulo()).forEach(t -> frecuencias.merge(t, PESO_TITULO, Integer::sum));
+            AnalizadorEspanol.terminos(topico.mensaje()).forEach(t -> frecuencias.merge(t, 1, Integer::sum));
+            int longitud = 0;
+            for (int tf : frecuencias.values()) {
+                longitud += tf;
+            }
+
+            int doc = siguiente++;
+            asegurarCapacidad(doc + 1);
+            topicos[doc] = topico.id();
+            cursos[doc] = topico.cursoId();
+            longitudes[doc] = longitud;
+            estados[doc] = (byte) topico.estado().ordinal();
+            frecuencias.forEach((termino, tf) -> postings.computeIfAbsent(termino, t -> new ListaPostings()).agregar(doc, tf));
+
+            vivos.set(doc);
+            vivosTotal++;
+            longitudTotal += longitud;
+            documentoPorTopico.put(topico.id(), doc);
+        }
+
+        void quitar(Long topicoId) {
+            Integer doc = documentoPorTopico.remove(topicoId);
+            if (doc != null) {
+                vivos.clear(doc);
+                vivosTotal--;
+                longitudTotal -= longitudes[doc];
+            }
+        }
+
+        boolean debeCompactarse() {
+            int muertos = siguiente - vivosTotal;
+            return muertos > 1000 && muertos * 4 > siguiente;
+        }
+
+        //Renumera los documentos vivos conservando el orden, así las listas siguen siendo crecientes
+        Datos compactado() {
+            var nuevo = new Datos();
+            int[] renumerado = new int[siguiente];
+            Arrays.fill(renumerado, -1);
+            nuevo.asegurarCapacidad(vivosTotal);
+            for (int doc = vivos.nextSetBit(0); doc >= 0; doc = vivos.nextSetBit(doc + 1)) {
+                int nuevoDoc = nuevo.siguiente++;
+                renumerado[doc] = nuevoDoc;
+                nuevo.topicos[nuevoDoc] = topicos[doc];
+                nuevo.cursos[nuevoDoc] = cursos[doc];
+                nuevo.longitudes[nuevoDoc] = longitudes[doc];
+                nuevo.estados[nuevoDoc] = estados[doc];
+                nuevo.vivos.set(nuevoDoc);
+                nuevo.documentoPorTopico.put(topicos[doc], nuevoDoc);
+            }
+            nuevo.vivosTotal = vivosTotal;
+            nuevo.longitudTotal = longitudTotal;
+            postings.forEach((termino, lista) -> {
+                var compacta = new ListaPostings();
+                lista.recorrer((doc, tf) -> {
+                    if (renumerado[doc] >= 0) {
+                        compacta.agregar(renumerado[doc], tf);
+                    }
+                });
+                if (compacta.documentos() > 0) {
+                    compacta.recortar();
+                    nuevo.postings.put(termino, compacta);
+                }
+            });
+            return nuevo;
+        }
+
+        void recortar() {
+            postings.values().forEach(ListaPostings::recortar);
+        }
+
+        private void asegurarCapacidad(int capacidad) {
+            if (capacidad <= topicos.length) {
+                return;
+            }
+            int nueva = Math.max(capacidad, topicos.length * 2);
+            topicos = Arrays.copyOf(topicos, nueva);
+            cursos = Arrays.copyOf(cursos, nueva);
+            longitudes = Arrays.copyOf(longitudes, nueva);
+            estados = Arrays.copyOf(estados, nueva);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.desafio.forohub.infra.busqueda;
+
+import java.util.Arrays;
+
+/**
+ * Lista de apariciones de un término: pares (documento, frecuencia) en un byte[] con varint y el
+ * documento codificado como diferencia con el anterior. Los documentos internos crecen siempre,
+ * así que sólo se añade al final y las diferencias suelen ocupar uno o dos bytes.
+ */
+final class ListaPostings {
+
+    private byte[] datos = new byte[8];
+    private int longitud;
+    private int ultimoDocumento = -1;
+    private int documentos;
+
+    @FunctionalInterface
+    interface Consumidor {
+        void aceptar(int documento, int frecuencia);
+    }
+
+    void agregar(int documento, int frecuencia) {
+        escribir(documento - ultimoDocumento);
+        escribir(frecuencia);
+        ultimoDocumento = documento;
+        documentos++;
+    }
+
+    void recorrer(Consumidor consumidor) {
+        int posicion = 0;
+        int documento = -1;
+        while (posicion < longitud) {
+            int valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = datos[posicion++];
+                valor |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            documento += valor;
+
+            int frecuencia = 0;
+            desplazamiento = 0;
+            do {
+                b = datos[posicion++];
+                frecuencia |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            consumidor.aceptar(documento, frecuencia);
+        }
+    }
+
+    int documentos() {
+        return documentos;
+    }
+
+    int bytes() {
+        return datos.length;
+    }
+
+    void recortar() {
+        datos = Arrays.copyOf(datos, Math.max(longitud, 1));
+    }
+
+    private void escribir(int valor) {
+        if (longitud + 5 > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + 5));
+        }
+        while ((valor & ~0x7F) != 0) {
+            datos[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos[longitud++] = (byte) valor;
+    }
+}
@@ -0,0 +1,110 @@
+package com.desafio.forohub.infra.cache;
+
+import com.desafio.forohub.domain.topico.dto.DetallesTopicoDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Primeras páginas de los listados de tópicos, por (listado, página, tamaño, orden). Cada entrada guarda la
+ * versión de {@link com.desafio.forohub.infra.http.VersionListados} leída antes de cargarla: si la versión
+ * actual es posterior, la entrada se recarga en el sitio, y la ETag de la respuesta sale de la versión de la
+ * entrada servida. Caffeine expira las entradas por TTL y acota su número; los fallos concurrentes de la
+ * misma clave esperan a una sola carga.
+ */
+@Component
+public class CachePaginasTopicos {
+
+    private final Cache<Clave, Entrada> paginas;
+    private final int maxPaginas;
+    private final Duration espera;
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Counter agrupados;
+
+    private record Clave(String listado, int pagina, int tamano, Sort orden) {
+    }
+
+    private record Entrada(long version, CompletableFuture<Page<DetallesTopicoDTO>> pagina) {
+    }
+
+    public record PaginaVersionada(long version, Page<DetallesTopicoDTO> pagina) {
+    }
+
+    public CachePaginasTopicos(MeterRegistry meterRegistry,
+                               @Value("${api.topicos.cache-paginas.max-paginas:3}") int maxPaginas,
+                               @Value("${api.topicos.cache-paginas.max-entradas:256}") int maxEntradas,
+                               @Value("${api.topicos.cache-paginas.ttl:30s}") Duration ttl,
+                               @Value("${api.topicos.cache-paginas.espera:5s}") Duration espera) {
+        this.paginas = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .build();
+        this.maxPaginas = maxPaginas;
+        this.espera = espera;
+        this.aciertos = Counter.builder("forohub.topicos.cache.paginas").tag("resultado", "acierto").register(meterRegistry);
+        this.fallos = Counter.builder("forohub.topicos.cache.paginas").tag("resultado", "fallo").register(meterRegistry);
+        this.agrupados = Counter.builder("forohub.topicos.cache.paginas").tag("resultado", "agrupado").register(meterRegistry);
+    }
+
+    public PaginaVersionada obtener(String listado, Pageable pageable, long version, Supplier<Page<DetallesTopicoDTO>> cargar) {
+        if (pageable.getPageNumber() >= maxPaginas) {
+            return new PaginaVersionada(version, cargar.get());
+        }
+        var clave = new Clave(listado, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        var nueva = new Entrada(version, new CompletableFuture<>());
+        //Una entrada cargada con una versión igual o posterior sirve; si no, la nueva la sustituye
+        var entrada = paginas.asMap().compute(clave, (k, actual) ->
+                actual != null && actual.version() >= version ? actual : nueva);
+
+        if (entrada != nueva) {
+            if (entrada.pagina().isDone()) {
+                aciertos.increment();
+            } else {
+                agrupados.increment();
+            }
+            return esperar(entrada, cargar);
+        }
+
+        fallos.increment();
+        try {
+            var pagina = cargar.get();
+            nueva.pagina().complete(pagina);
+            return new PaginaVersionada(version, pagina);
+        } catch (RuntimeException e) {
+            nueva.pagina().completeExceptionally(e);
+            paginas.asMap().remove(clave, nueva);
+            throw e;
+        }
+    }
+
+    private PaginaVersionada esperar(Entrada entrada, Supplier<Page<DetallesTopicoDTO>> cargar) {
+        try {
+            return new PaginaVersionada(entrada.version(), entrada.pagina().get(espera.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            //Se carga después de fijarse la versión de la entrada, así que también le corresponde
+            return new PaginaVersionada(entrada.version(), cargar.get());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la página de tópicos", e);
+        }
+    }
+}
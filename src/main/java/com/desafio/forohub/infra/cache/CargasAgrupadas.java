@@ -0,0 +1,94 @@
+package com.desafio.forohub.infra.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: las peticiones concurrentes con la misma clave comparten una única carga en curso.
+ * No es un cache: la entrada desaparece en cuanto la carga termina. La tabla de claves en vuelo está
+ * acotada (por encima del límite cada petición carga por su cuenta) y quien espera lo hace como mucho
+ * {@code api.cargas-agrupadas.espera} antes de cargar él mismo.
+ */
+@Component
+public class CargasAgrupadas {
+
+    private final ConcurrentHashMap<Clave, CompletableFuture<Object>> enVuelo = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> contadores = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int maxClaves;
+    private final long esperaMillis;
+
+    private record Clave(String recurso, Object valor) {
+    }
+
+    public CargasAgrupadas(MeterRegistry meterRegistry,
+                           @Value("${api.cargas-agrupadas.max-claves:10000}") int maxClaves,
+                           @Value("${api.cargas-agrupadas.espera:2s}") Duration espera) {
+        this.meterRegistry = meterRegistry;
+        this.maxClaves = maxClaves;
+        this.esperaMillis = espera.toMillis();
+        Gauge.builder("forohub.cargas.en_vuelo", enVuelo, Map::size).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T cargar(String recurso, Object valor, Supplier<T> carga) {
+        var metricas = metricas(recurso);
+        var clave = new Clave(recurso, valor);
+        if (enVuelo.size() >= maxClaves && !enVuelo.containsKey(clave)) {
+            metricas[2].increment();
+            return carga.get();
+        }
+
+        var propia = new CompletableFuture<Object>();
+        var existente = enVuelo.putIfAbsent(clave, propia);
+        if (existente == null) {
+            metricas[0].increment();
+            try {
+                T resultado = carga.get();
+                propia.complete(resultado);
+                return resultado;
+            } catch (RuntimeException e) {
+                propia.completeExceptionally(e);
+                throw e;
+            } finally {
+                enVuelo.remove(clave, propia);
+            }
+        }
+
+        metricas[1].increment();
+        try {
+            return (T) existente.get(esperaMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            metricas[3].increment();
+            return carga.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando una carga agrupada", e);
+        }
+    }
+
+    private Counter[] metricas(String recurso) {
+        return contadores.computeIfAbsent(recurso, r -> new Counter[]{
+                Counter.builder("forohub.cargas.agrupadas").tag("recurso", r).tag("resultado", "lider").register(meterRegistry),
+                Counter.builder("forohub.cargas.agrupadas").tag("recurso", r).tag("resultado", "agrupada").register(meterRegistry),
+                Counter.builder("forohub.cargas.agrupadas").tag("recurso", r).tag("resultado", "omitida").register(meterRegistry),
+                Counter.builder("forohub.cargas.agrupadas").tag("recurso", r).tag("resultado", "timeout").register(meterRegistry)});
+    }
+}
@@ -0,0 +1,268 @@
+package com.desafio.forohub.infra.cache;
+
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import com.desafio.forohub.infra.http.JsonSerializado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * JSON ya codificado en UTF-8 de cada entidad y versión (DetallesTopicoDTO, DetalleRespuestaDTO), guardado
+ * fuera del heap en slabs de {@link ByteBuffer} directos. Como en memcached, cada slab se parte en trozos
+ * de un tamaño fijo (clases de 256 bytes a un slab, en potencias de dos) y cada clase desaloja por su cuenta:
+ * cuando no quedan slabs, un reloj (CLOCK) recorre sus trozos y libera el primero no leído desde la última vuelta.
+ * <p>
+ * La clave es (tipo, id) y se guarda junto a la versión; una lectura con otra versión es un fallo y libera
+ * el trozo, así que no hace falta invalidar para acertar. Las lecturas no bloquean: copian el trozo con una
+ * lectura optimista del {@link StampedLock} de su clase y sólo la repiten con bloqueo si un escritor de esa
+ * clase se cruzó. Liberar, reservar y escribir trozos se hace con el bloqueo de escritura de la clase.
+ */
+@Component
+public class FragmentosJson {
+
+    private static final int TROZO_MINIMO = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ByteBuffer[] slabs;
+    private final int tamanoSlab;
+    private final Clase[] clases;
+    private final Map<Clave, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicInteger slabsUsados = new AtomicInteger();
+    private final AtomicLong bytesOcupados = new AtomicLong();
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Counter desalojos;
+    private final Counter omitidos;
+
+    private record Clave(String tipo, Long id) {
+    }
+
+    private static final class Entrada {
+        private final Clave clave;
+        private final String version;
+        private final int clase;
+        private final long trozo;
+        private final int longitud;
+        //Sólo cambia con el bloqueo de escritura de la clase
+        private boolean viva = true;
+        //Bit del reloj: lo pone cada acierto, sin bloqueo, y lo borra el desalojo
+        private volatile boolean referenciada;
+
+        private Entrada(Clave clave, String version, int clase, long trozo, int longitud) {
+            this.clave = clave;
+            this.version = version;
+            this.clase = clase;
+            this.trozo = trozo;
+            this.longitud = longitud;
+        }
+    }
+
+    private static final class Clase {
+        private final int tamanoTrozo;
+        private final StampedLock cerrojo = new StampedLock();
+        //Trozos codificados como slab << 32 | posicion
+        private final ArrayDeque<Long> libres = new ArrayDeque<>();
+        private final Map<Long, Entrada> ocupados = new HashMap<>();
+        private final List<Long> reloj = new ArrayList<>();
+        private int manecilla;
+
+        private Clase(int tamanoTrozo) {
+            this.tamanoTrozo = tamanoTrozo;
+        }
+    }
+
+    public FragmentosJson(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${api.fragmentos-json.capacidad:32MB}") DataSize capacidad,
+                          @Value("${api.fragmentos-json.tamano-slab:1MB}") DataSize tamanoSlab) {
+        this.objectMapper = objectMapper;
+        this.tamanoSlab = Integer.highestOneBit((int) Math.max(TROZO_MINIMO, tamanoSlab.toBytes()));
+        this.slabs = new ByteBuffer[(int) Math.max(1, capacidad.toBytes() / this.tamanoSlab)];
+        this.clases = new Clase[Integer.numberOfTrailingZeros(this.tamanoSlab / TROZO_MINIMO) + 1];
+        for (int i = 0; i < clases.length; i++) {
+            clases[i] = new Clase(TROZO_MINIMO << i);
+        }
+        this.aciertos = Counter.builder("forohub.fragmentos.json").tag("resultado", "acierto").register(meterRegistry);
+        this.fallos = Counter.builder("forohub.fragmentos.json").tag("resultado", "fallo").register(meterRegistry);
+        this.desalojos = Counter.builder("forohub.fragmentos.json").tag("resultado", "desalojo").register(meterRegistry);
+        this.omitidos = Counter.builder("forohub.fragmentos.json").tag("resultado", "omitido").register(meterRegistry);
+        Gauge.builder("forohub.fragmentos.json.bytes", bytesOcupados, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("forohub.fragmentos.json.slabs", slabsUsados, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public JsonSerializado obtener(String tipo, Long id, Object version) {
+        var entrada = entradas.get(new Clave(tipo, id));
+        if (entrada == null || !entrada.version.equals(String.valueOf(version))) {
+            if (entrada != null) {
+                liberar(entrada);
+            }
+            fallos.increment();
+            return null;
+        }
+        var contenido = leer(entrada);
+        if (contenido == null) { //Desalojada o sustituida entre el get y la copia
+            fallos.increment();
+            return null;
+        }
+        entrada.referenciada = true;
+        aciertos.increment();
+        return new JsonSerializado(contenido);
+    }
+
+    //Serializa el DTO y lo guarda para esa versión; fragmentos mayores que un slab sólo se devuelven
+    public JsonSerializado guardar(String tipo, Long id, Object version, Object dto) {
+        var json = JsonSerializado.de(objectMapper, dto);
+        if (json.longitud() > tamanoSlab) {
+            omitidos.increment();
+            return json;
+        }
+        var clave = new Clave(tipo, id);
+        var anterior = entradas.get(clave);
+        if (anterior != null) {
+            liberar(anterior);
+        }
+        int indice = clase(json.longitud());
+        var clase = clases[indice];
+        Entrada desplazada;
+        long sello = clase.cerrojo.writeLock();
+        try {
+            Long trozo = reservar(clase);
+            if (trozo == null) {
+                omitidos.increment();
+                return json;
+            }
+            slabs[(int) (trozo >>> 32)].put((int) (long) trozo, json.contenido());
+            var entrada = new Entrada(clave, String.valueOf(version), indice, trozo, json.longitud());
+            clase.ocupados.put(trozo, entrada);
+            bytesOcupados.addAndGet(json.longitud());
+            desplazada = entradas.put(clave, entrada);
+        } finally {
+            clase.cerrojo.unlockWrite(sello);
+        }
+        if (desplazada != null) { //Otro guardar de la misma clave se cruzó con este
+            liberar(desplazada);
+        }
+        return json;
+    }
+
+    public JsonSerializado cargar(String tipo, Long id, Object version, Supplier<?> dto) {
+        var fragmento = obtener(tipo, id, version);
+        return fragmento != null ? fragmento : guardar(tipo, id, version, dto.get());
+    }
+
+    //La versión ya protege de servir datos viejos: esto sólo devuelve antes los trozos al slab
+    @TransactionalEventListener
+    public void alModificarTopicos(TopicosModificadosEvent evento) {
+        for (var id : evento.ids()) {
+            var entrada = entradas.get(new Clave("topico", id));
+            if (entrada != null) {
+                liberar(entrada);
+            }
+        }
+    }
+
+    //Clase de trozo para un fragmento: la menor potencia de dos de TROZO_MINIMO en la que cabe
+    static int clase(int longitud) {
+        return Math.max(0, 32 - Integer.numberOfLeadingZeros((longitud - 1) / TROZO_MINIMO));
+    }
+
+    private byte[] leer(Entrada entrada) {
+        var clase = clases[entrada.clase];
+        var slab = slabs[(int) (entrada.trozo >>> 32)];
+        int posicion = (int) entrada.trozo;
+        byte[] contenido = new byte[entrada.longitud];
+        long sello = clase.cerrojo.tryOptimisticRead();
+        if (sello != 0 && entrada.viva) {
+            slab.get(posicion, contenido);
+            if (clase.cerrojo.validate(sello)) {
+                return contenido;
+            }
+        }
+        sello = clase.cerrojo.readLock();
+        try {
+            if (!entrada.viva) {
+                return null;
+            }
+            slab.get(posicion, contenido);
+            return contenido;
+        } finally {
+            clase.cerrojo.unlockRead(sello);
+        }
+    }
+
+    //Con el bloqueo de escritura de la clase tomado
+    private Long reservar(Clase clase) {
+        if (clase.libres.isEmpty()) {
+            int slab = slabsUsados.getAndUpdate(n -> n < slabs.length ? n + 1 : n);
+            if (slab < slabs.length) {
+                slabs[slab] = ByteBuffer.allocateDirect(tamanoSlab);
+                for (int posicion = 0; posicion < tamanoSlab; posicion += clase.tamanoTrozo) {
+                    long trozo = (long) slab << 32 | posicion;
+                    clase.libres.add(trozo);
+                    clase.reloj.add(trozo);
+                }
+            }
+        }
+        if (clase.libres.isEmpty() && !clase.ocupados.isEmpty()) {
+            desalojarConReloj(clase);
+        }
+        return clase.libres.poll();
+    }
+
+    //Segunda oportunidad: la manecilla borra el bit de los trozos leídos y libera el primero que no lo tenga
+    private void desalojarConReloj(Clase clase) {
+        while (true) {
+            long trozo = clase.reloj.get(clase.manecilla);
+            clase.manecilla = (clase.manecilla + 1) % clase.reloj.size();
+            var entrada = clase.ocupados.get(trozo);
+            if (entrada == null) {
+                continue;
+            }
+            if (entrada.referenciada) {
+                entrada.referenciada = false;
+                continue;
+            }
+            liberarBloqueado(clase, entrada);
+            desalojos.increment();
+            return;
+        }
+    }
+
+    private void liberar(Entrada entrada) {
+        var clase = clases[entrada.clase];
+        long sello = clase.cerrojo.writeLock();
+        try {
+            liberarBloqueado(clase, entrada);
+        } finally {
+            clase.cerrojo.unlockWrite(sello);
+        }
+    }
+
+    private void liberarBloqueado(Clase clase, Entrada entrada) {
+        entradas.remove(entrada.clave, entrada);
+        if (!entrada.viva) {
+            return;
+        }
+        entrada.viva = false;
+        clase.ocupados.remove(entrada.trozo);
+        clase.libres.push(entrada.trozo);
+        bytesOcupados.addAndGet(-entrada.longitud);
+    }
+}
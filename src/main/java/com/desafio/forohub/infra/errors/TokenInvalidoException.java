@@ -0,0 +1,12 @@
+package com.desafio.forohub.infra.errors;
+
+import java.io.Serial;
+
+public class TokenInvalidoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    public TokenInvalidoException(String s){
+        super(s);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.desafio.forohub.infra.exportacion;
+
+import com.desafio.forohub.domain.respuesta.repository.RespuestaRepository;
+import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Vuelca tópicos o respuestas como NDJSON directamente sobre el stream de salida. Las filas llegan de la BD
+ * en streaming como DTOs (no quedan en el contexto de persistencia), así que la memoria usada no depende
+ * del tamaño de la tabla.
+ */
+@Service
+public class ExportacionService {
+
+    private final TopicoRepository topicoRepository;
+    private final RespuestaRepository respuestaRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportacionService(TopicoRepository topicoRepository,
+                              RespuestaRepository respuestaRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.topicoRepository = topicoRepository;
+        this.respuestaRepository = respuestaRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void exportarTopicos(OutputStream salida, boolean gzip) throws IOException {
+        exportar(salida, gzip, topicoRepository::streamAllDetalles);
+    }
+
+    public void exportarRespuestas(OutputStream salida, boolean gzip) throws IOException {
+        exportar(salida, gzip, respuestaRepository::streamAllDetalles);
+    }
+
+    private void exportar(OutputStream salida, boolean gzip, Supplier<Stream<?>> filas) throws IOException {
+        var destino = gzip ? new GZIPOutputStream(salida, 64 * 1024) : salida;
+        var escritor = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        var escritas = new AtomicLong();
+
+        try (var writer = escritor.writeValues(destino)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var stream = filas.get()) {
+                    stream.forEach(fila -> {
+                        try {
+                            writer.write(fila);
+                            escritas.incrementAndGet();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+        }
+        //El separador sólo va entre valores; en NDJSON cada línea termina con salto
+        if (escritas.get() > 0) {
+            destino.write('\n');
+        }
+        if (gzip) {
+            ((GZIPOutputStream) destino).finish();
+        }
+        salida.flush();
+    }
+}
@@ -0,0 +1,101 @@
+package com.desafio.forohub.infra.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ETags a partir de un sello de versión barato y respuestas 304 que se deciden antes de cargar y serializar
+ * los DTO. Las fuertes sólo valen si el sello cubre todos los campos del cuerpo; si no, se emiten débiles.
+ * Cuenta los 304 por recurso, las consultas que evitaron (las que la respuesta 200 habría hecho además del
+ * sello) y los bytes que no se enviaron (según el tamaño de la última respuesta 200 con esa ETag).
+ */
+@Component
+public class GetCondicional {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter[]> contadores = new ConcurrentHashMap<>();
+    private final Map<String, Long> tamanos;
+
+    public GetCondicional(MeterRegistry meterRegistry,
+                          @Value("${api.http.etag.tamanos-recordados:10000}") int maxTamanos) {
+        this.meterRegistry = meterRegistry;
+        this.tamanos = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxTamanos;
+            }
+        };
+    }
+
+    public String etag(Object... partes) {
+        var texto = new StringBuilder();
+        for (var parte : partes) {
+            texto.append(parte).append('|');
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(texto.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    //Para cuerpos que el sello no describe byte a byte (p. ej. un listado sellado por una versión global)
+    public String etagDebil(Object... partes) {
+        return "W/" + etag(partes);
+    }
+
+    //If-None-Match usa comparación débil: W/"x" y "x" coinciden
+    public boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var opaca = sinPrefijoDebil(etag);
+        for (var candidata : ifNoneMatch.split(",")) {
+            var valor = candidata.trim();
+            if (valor.equals("*") || sinPrefijoDebil(valor).equals(opaca)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public <T> ResponseEntity<T> noModificado(String etag, String recurso, int consultasEvitadas) {
+        var metricas = contadores.computeIfAbsent(recurso, r -> new Counter[]{
+                Counter.builder("forohub.http.not_modified").tag("recurso", r).register(meterRegistry),
+                Counter.builder("forohub.http.not_modified.consultas").tag("recurso", r).register(meterRegistry),
+                Counter.builder("forohub.http.not_modified.bytes").tag("recurso", r).register(meterRegistry)});
+        metricas[0].increment();
+        metricas[1].increment(consultasEvitadas);
+        Long bytes;
+        synchronized (tamanos) {
+            bytes = tamanos.get(etag);
+        }
+        if (bytes != null) {
+            metricas[2].increment(bytes);
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static String sinPrefijoDebil(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    void registrarTamano(String etag, long bytes) {
+        synchronized (tamanos) {
+            tamanos.put(etag, bytes);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.desafio.forohub.infra.http;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+//Spring Boot añade los HttpMessageConverter declarados como bean delante de los predeterminados
+@Component
+public class JsonSerializadoConverter extends AbstractHttpMessageConverter<JsonSerializado> {
+
+    public JsonSerializadoConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonSerializado.class.equals(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonSerializado readInternal(Class<? extends JsonSerializado> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JsonSerializado sólo se usa en respuestas", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonSerializado json, MediaType contentType) {
+        return (long) json.longitud();
+    }
+
+    @Override
+    protected void writeInternal(JsonSerializado json, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(json.contenido());
+    }
+}
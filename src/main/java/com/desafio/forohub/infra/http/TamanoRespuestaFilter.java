@@ -0,0 +1,88 @@
+package com.desafio.forohub.infra.http;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//Cuenta (sin almacenar) los bytes de cada GET 200 con ETag, para saber cuánto ahorra luego un 304
+@Component
+public class TamanoRespuestaFilter extends OncePerRequestFilter {
+
+    private final GetCondicional getCondicional;
+
+    public TamanoRespuestaFilter(GetCondicional getCondicional) {
+        this.getCondicional = getCondicional;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        var ruta = request.getRequestURI();
+        return !"GET".equals(request.getMethod())
+                || !(ruta.startsWith("/topicos") || ruta.startsWith("/respuestas"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var contador = new RespuestaContada(response);
+        filterChain.doFilter(request, contador);
+        var etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && response.getStatus() == HttpServletResponse.SC_OK && contador.bytes > 0) {
+            getCondicional.registrarTamano(etag, contador.bytes);
+        }
+    }
+
+    private static final class RespuestaContada extends HttpServletResponseWrapper {
+        private long bytes;
+        private ServletOutputStream salida;
+
+        RespuestaContada(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (salida == null) {
+                var original = super.getOutputStream();
+                salida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        original.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        original.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        original.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        original.setWriteListener(listener);
+                    }
+                };
+            }
+            return salida;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.desafio.forohub.infra.http;
+
+import com.desafio.forohub.domain.respuesta.RespuestasModificadasEvent;
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión monótona de los listados de tópicos, para sus ETags sin consultar la BD. Avanza tras el commit de
+ * cualquier cambio de tópicos o respuestas hecho en este nodo y, además, cada {@code api.topicos.listado.renovacion}
+ * milisegundos: eso acota lo que los eventos no ven (otros nodos y UPDATE nativos como el volcado de visitas o la
+ * reconciliación de contadores). Las ETags llevan el identificador del proceso, así que otro nodo o un reinicio
+ * nunca reutilizan una ETag para otros datos.
+ */
+@Component
+public class VersionListados {
+
+    private final String nodo = UUID.randomUUID().toString();
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener
+    public void alModificarTopicos(TopicosModificadosEvent evento) {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void alModificarRespuestas(RespuestasModificadasEvent evento) {
+        version.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${api.topicos.listado.renovacion:30000}")
+    public void renovar() {
+        version.incrementAndGet();
+    }
+
+    public String nodo() {
+        return nodo;
+    }
+
+    public long actual() {
+        return version.get();
+    }
+}
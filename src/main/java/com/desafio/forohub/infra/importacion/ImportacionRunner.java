@@ -0,0 +1,44 @@
+package com.desafio.forohub.infra.importacion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+//Modo CLI: java -jar forohub.jar --importar=/ruta/foro.ndjson importa el archivo y termina la aplicación
+@Component
+public class ImportacionRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionRunner.class);
+
+    private final ImportacionService importacionService;
+    private final ConfigurableApplicationContext context;
+
+    public ImportacionRunner(ImportacionService importacionService, ConfigurableApplicationContext context) {
+        this.importacionService = importacionService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("importar")) {
+            return;
+        }
+        var archivo = Path.of(args.getOptionValues("importar").get(0));
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            var resultado = importacionService.importar(entrada);
+            log.info("Importación terminada: {} tópicos, {} respuestas, {} errores en {} ms",
+                    resultado.topicosCreados(), resultado.respuestasCreadas(), resultado.erroresTotales(),
+                    resultado.milisegundos());
+            resultado.errores().forEach(e -> log.warn("Línea {}: {}", e.linea(), e.error()));
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,308 @@
+package com.desafio.forohub.infra.importacion;
+
+import com.desafio.forohub.domain.curso.Curso;
+import com.desafio.forohub.domain.curso.repository.CursoRepository;
+import com.desafio.forohub.domain.respuesta.Respuesta;
+import com.desafio.forohub.domain.respuesta.RespuestasModificadasEvent;
+import com.desafio.forohub.domain.respuesta.dto.CrearRespuestaDTO;
+import com.desafio.forohub.domain.respuesta.validations.ContextoRespuesta;
+import com.desafio.forohub.domain.respuesta.validations.create.ValidarRespuestaCreada;
+import com.desafio.forohub.domain.topico.ContenidoHash;
+import com.desafio.forohub.domain.topico.Topico;
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import com.desafio.forohub.domain.topico.dto.CrearTopicoDTO;
+import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import com.desafio.forohub.domain.topico.validations.ContextoTopico;
+import com.desafio.forohub.domain.topico.validations.create.ValidarTopicoCreado;
+import com.desafio.forohub.domain.usuario.Usuario;
+import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import com.desafio.forohub.infra.importacion.dto.ErrorImportacionDTO;
+import com.desafio.forohub.infra.importacion.dto.LineaImportacionDTO;
+import com.desafio.forohub.infra.importacion.dto.ResultadoImportacionDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de tópicos y respuestas desde NDJSON. Las líneas se procesan por lotes: cada lote carga
+ * de una vez los usuarios, cursos, tópicos y huellas de contenido que referencia, pasa cada línea por las
+ * mismas cadenas de validadores que la API y persiste todo en una transacción con inserciones JDBC agrupadas.
+ * Una línea inválida se informa y se salta; un lote que falla al escribir se informa completo, junto con los
+ * errores de sus líneas inválidas.
+ */
+@Service
+public class ImportacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+    private static final int MAX_ERRORES_INFORMADOS = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final UsuarioRepository usuarioRepository;
+    private final CursoRepository cursoRepository;
+    private final TopicoRepository topicoRepository;
+    private final List<ValidarTopicoCreado> validadoresTopico;
+    private final List<ValidarRespuestaCreada> validadoresRespuesta;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanoLote;
+
+    public ImportacionService(ObjectMapper objectMapper,
+                              Validator validator,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              UsuarioRepository usuarioRepository,
+                              CursoRepository cursoRepository,
+                              TopicoRepository topicoRepository,
+                              List<ValidarTopicoCreado> validadoresTopico,
+                              List<ValidarRespuestaCreada> validadoresRespuesta,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${api.importacion.batch-size:500}") int tamanoLote) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.usuarioRepository = usuarioRepository;
+        this.cursoRepository = cursoRepository;
+        this.topicoRepository = topicoRepository;
+        this.validadoresTopico = validadoresTopico;
+        this.validadoresRespuesta = validadoresRespuesta;
+        this.eventPublisher = eventPublisher;
+        this.tamanoLote = tamanoLote;
+    }
+
+    public ResultadoImportacionDTO importar(InputStream entrada) throws IOException {
+        var estado = new Estado();
+        var reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        var lote = new ArrayList<LineaNumerada>(tamanoLote);
+
+        String linea;
+        long numero = 0;
+        while ((linea = reader.readLine()) != null) {
+            numero++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            estado.lineas++;
+            try {
+                lote.add(new LineaNumerada(numero, objectMapper.readValue(linea, LineaImportacionDTO.class)));
+            } catch (JsonProcessingException e) {
+                estado.error(numero, "JSON inválido");
+            }
+            if (lote.size() == tamanoLote) {
+                procesarLote(lote, estado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            procesarLote(lote, estado);
+        }
+        return estado.resultado();
+    }
+
+    private void procesarLote(List<LineaNumerada> lote, Estado estado) {
+        var parcial = new Parcial();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                escribirLote(lote, estado, parcial);
+                entityManager.flush();
+                //Un UPDATE por lote para los contadores de respuestas, en vez de uno por fila
+                if (!parcial.topicosConRespuestas.isEmpty()) {
+                    topicoRepository.reconciliarContadores(parcial.topicosConRespuestas);
+                    eventPublisher.publishEvent(new RespuestasModificadasEvent(Set.copyOf(parcial.topicosConRespuestas)));
+                }
+                if (!parcial.topicosCreados.isEmpty()) {
+                    eventPublisher.publishEvent(new TopicosModificadosEvent(Set.copyOf(parcial.topicosCreados)));
+                }
+                entityManager.clear();
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            //Las líneas inválidas lo siguen siendo aunque el resto del lote no se haya escrito
+            parcial.errores.forEach(error -> estado.error(error.linea(), error.error()));
+            estado.error(lote.get(0).numero(), "Lote rechazado hasta la línea " + lote.get(lote.size() - 1).numero()
+                    + ": " + e.getMessage());
+            return;
+        }
+        estado.aplicar(parcial);
+        log.info("Importación: {} líneas, {} tópicos, {} respuestas, {} errores, {} líneas/s",
+                estado.lineas, estado.topicos, estado.respuestas, estado.erroresTotales,
+                String.format("%.0f", estado.lineasPorSegundo()));
+    }
+
+    private void escribirLote(List<LineaNumerada> lote, Estado estado, Parcial parcial) {
+        //Todas las referencias del lote se resuelven con una consulta por tipo de entidad
+        Set<Long> usuarioIds = new HashSet<>();
+        Set<Long> cursoIds = new HashSet<>();
+        Set<Long> topicoIds = new HashSet<>();
+        Map<ByteBuffer, byte[]> hashes = new HashMap<>();
+        for (var linea : lote) {
+            var datos = linea.datos();
+            if (datos.usuarioId() != null) usuarioIds.add(datos.usuarioId());
+            if (datos.cursoId() != null) cursoIds.add(datos.cursoId());
+            var topicoId = topicoReferenciado(datos, estado.refs);
+            if (topicoId != null) topicoIds.add(topicoId);
+            if ("topico".equals(datos.tipo()) && datos.titulo() != null && datos.mensaje() != null) {
+                var hash = ContenidoHash.de(datos.titulo(), datos.mensaje());
+                hashes.put(ByteBuffer.wrap(hash), hash);
+            }
+        }
+        Map<Long, Usuario> usuarios = porId(usuarioRepository.findAllById(usuarioIds), Usuario::getId);
+        Map<Long, Curso> cursos = porId(cursoRepository.findAllById(cursoIds), Curso::getId);
+        Map<Long, Topico> topicos = porId(topicoRepository.findAllById(topicoIds), Topico::getId);
+        Map<ByteBuffer, Long> existentes = new HashMap<>();
+        if (!hashes.isEmpty()) {
+            topicoRepository.findAllByContenidoHashIn(hashes.values())
+                    .forEach(t -> existentes.put(ByteBuffer.wrap(t.contenidoHash()), t.id()));
+        }
+
+        for (var linea : lote) {
+            try {
+                var datos = linea.datos();
+                if ("topico".equals(datos.tipo())) {
+                    crearTopico(datos, usuarios, cursos, topicos, existentes, parcial);
+                } else if ("respuesta".equals(datos.tipo())) {
+                    crearRespuesta(datos, estado.refs, parcial, usuarios, topicos);
+                } else {
+                    throw new ValidationException("Tipo desconocido: " + datos.tipo());
+                }
+            } catch (ValidationException e) {
+                parcial.errores.add(new ErrorImportacionDTO(linea.numero(), e.getMessage()));
+            }
+        }
+    }
+
+    private void crearTopico(LineaImportacionDTO datos, Map<Long, Usuario> usuarios, Map<Long, Curso> cursos,
+                             Map<Long, Topico> topicos, Map<ByteBuffer, Long> existentes, Parcial parcial) {
+        var dto = new CrearTopicoDTO(datos.titulo(), datos.mensaje(), datos.usuarioId(), datos.cursoId());
+        validarCampos(dto);
+        var hash = ByteBuffer.wrap(ContenidoHash.de(dto.titulo(), dto.mensaje()));
+        var contexto = new ContextoTopico(Optional.ofNullable(usuarios.get(dto.usuarioId())),
+                Optional.ofNullable(cursos.get(dto.cursoId())),
+                Optional.ofNullable(existentes.get(hash)));
+        validadoresTopico.forEach(v -> v.validate(dto, contexto));
+
+        var topico = new Topico(dto, contexto.usuario().get(), contexto.curso().get());
+        //Con ids por bloques el persist no ejecuta el INSERT: queda encolado para el lote JDBC
+        entityManager.persist(topico);
+        existentes.put(hash, topico.getId());
+        topicos.put(topico.getId(), topico);
+        parcial.topicosCreados.add(topico.getId());
+        if (datos.ref() != null) {
+            parcial.refs.put(datos.ref(), topico.getId());
+        }
+        parcial.topicos++;
+    }
+
+    private void crearRespuesta(LineaImportacionDTO datos, Map<String, Long> refs, Parcial parcial,
+                                Map<Long, Usuario> usuarios, Map<Long, Topico> topicos) {
+        var topicoId = datos.topicoRef() != null && parcial.refs.containsKey(datos.topicoRef())
+                ? parcial.refs.get(datos.topicoRef())
+                : topicoReferenciado(datos, refs);
+        if (topicoId == null) {
+            throw new ValidationException("Este topico no existe.");
+        }
+        var dto = new CrearRespuestaDTO(datos.mensaje(), datos.usuarioId(), topicoId);
+        validarCampos(dto);
+        var contexto = new ContextoRespuesta(Optional.ofNullable(usuarios.get(dto.usuarioId())),
+                Optional.ofNullable(topicos.get(topicoId)));
+        validadoresRespuesta.forEach(v -> v.validate(dto, contexto));
+
+        entityManager.persist(new Respuesta(dto, contexto.usuario().get(), contexto.topico().get()));
+        parcial.topicosConRespuestas.add(topicoId);
+        parcial.respuestas++;
+    }
+
+    private void validarCampos(Object dto) {
+        var violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            var violacion = violaciones.iterator().next();
+            throw new ValidationException(violacion.getPropertyPath() + ": " + violacion.getMessage());
+        }
+    }
+
+    private static Long topicoReferenciado(LineaImportacionDTO datos, Map<String, Long> refs) {
+        if (datos.topicoId() != null) {
+            return datos.topicoId();
+        }
+        return datos.topicoRef() != null ? refs.get(datos.topicoRef()) : null;
+    }
+
+    private static <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private record LineaNumerada(long numero, LineaImportacionDTO datos) {
+    }
+
+    //Lo producido por un lote; sólo se suma al total si el lote se confirma
+    private static final class Parcial {
+        private final Map<String, Long> refs = new HashMap<>();
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+        private long topicos;
+        private long respuestas;
+        private final Set<Long> topicosConRespuestas = new HashSet<>();
+        private final Set<Long> topicosCreados = new HashSet<>();
+    }
+
+    private static final class Estado {
+        private final long inicio = System.nanoTime();
+        private final Map<String, Long> refs = new HashMap<>();
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+        private long lineas;
+        private long topicos;
+        private long respuestas;
+        private long erroresTotales;
+
+        private void error(long linea, String mensaje) {
+            erroresTotales++;
+            if (errores.size() < MAX_ERRORES_INFORMADOS) {
+                errores.add(new ErrorImportacionDTO(linea, mensaje));
+            }
+        }
+
+        private void aplicar(Parcial parcial) {
+            refs.putAll(parcial.refs);
+            topicos += parcial.topicos;
+            respuestas += parcial.respuestas;
+            parcial.errores.forEach(e -> error(e.linea(), e.error()));
+        }
+
+        private double lineasPorSegundo() {
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            return segundos > 0 ? lineas / segundos : lineas;
+        }
+
+        private ResultadoImportacionDTO resultado() {
+            return new ResultadoImportacionDTO(lineas, topicos, respuestas, erroresTotales, errores,
+                    (System.nanoTime() - inicio) / 1_000_000, lineasPorSegundo());
+        }
+    }
+}
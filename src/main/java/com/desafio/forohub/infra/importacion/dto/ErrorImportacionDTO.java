@@ -0,0 +1,7 @@
+package com.desafio.forohub.infra.importacion.dto;
+
+public record ErrorImportacionDTO(
+        long linea,
+        String error
+) {
+}
@@ -0,0 +1,15 @@
+package com.desafio.forohub.infra.importacion.dto;
+
+//Una línea del NDJSON. tipo = "topico" | "respuesta"; una respuesta apunta a un tópico existente (topicoId)
+//o a uno del mismo archivo mediante su ref (topicoRef)
+public record LineaImportacionDTO(
+        String tipo,
+        String ref,
+        String titulo,
+        String mensaje,
+        Long usuarioId,
+        Long cursoId,
+        Long topicoId,
+        String topicoRef
+) {
+}
@@ -0,0 +1,14 @@
+package com.desafio.forohub.infra.importacion.dto;
+
+import java.util.List;
+
+public record ResultadoImportacionDTO(
+        long lineas,
+        long topicosCreados,
+        long respuestasCreadas,
+        long erroresTotales,
+        List<ErrorImportacionDTO> errores,
+        long milisegundos,
+        double lineasPorSegundo
+) {
+}
@@ -0,0 +1,34 @@
+package com.desafio.forohub.infra.pagination;
+
+import jakarta.validation.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+//Posición opaca para paginación keyset: (ultimaActualizacion, id) de la última fila entregada
+public record Cursor(LocalDateTime fecha, Long id) {
+
+    //Posiciones anteriores a cualquier fila, para pedir la primera página en cada sentido
+    public static final Cursor INICIO_DESCENDENTE = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    public static final Cursor INICIO_ASCENDENTE = new Cursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    public String codificar() {
+        var valor = fecha + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decodificar(String cursor, Cursor inicio) {
+        if (cursor == null || cursor.isBlank()) {
+            return inicio;
+        }
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separador = valor.indexOf('|');
+            return new Cursor(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Cursor inválido.");
+        }
+    }
+}
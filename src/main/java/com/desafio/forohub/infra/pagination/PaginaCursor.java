@@ -0,0 +1,26 @@
+package com.desafio.forohub.infra.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+//Página keyset: sin total ni número de página, sólo el cursor para pedir la siguiente
+public record PaginaCursor<T>(
+        List<T> contenido,
+        String siguienteCursor
+) {
+
+    public static final int TAMANO_MAXIMO = 100;
+
+    //Las consultas piden una fila de más para saber si hay página siguiente sin hacer COUNT
+    public static <T> PaginaCursor<T> de(List<T> filas, int tamano, Function<T, Cursor> posicion) {
+        if (filas.size() <= tamano) {
+            return new PaginaCursor<>(filas, null);
+        }
+        var contenido = filas.subList(0, tamano);
+        return new PaginaCursor<>(contenido, posicion.apply(contenido.get(tamano - 1)).codificar());
+    }
+
+    public static int limitar(int tamano) {
+        return Math.max(1, Math.min(tamano, TAMANO_MAXIMO));
+    }
+}
@@ -0,0 +1,54 @@
+package com.desafio.forohub.infra.pagination;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+
+/**
+ * Envoltorio corto para los listados paginados que lo piden con {@code ?formato=ligero}:
+ * {@code {"contenido":[...],"siguientePagina":n,"total":t}}. No lleva pageable, sort ni los campos derivados
+ * de PageImpl; siguientePagina falta en la última página y total sólo aparece si el resultado es un Page
+ * (es decir, si se pidió con {@code total=true} y hubo COUNT). Se escribe directamente sobre el JsonGenerator
+ * de la respuesta, elemento a elemento, sin pasar por un mapa ni un árbol intermedio.
+ */
+public final class PaginaLigera<T> implements JsonSerializable {
+
+    public static final String FORMATO = "formato=ligero";
+
+    private final Slice<T> slice;
+
+    private PaginaLigera(Slice<T> slice) {
+        this.slice = slice;
+    }
+
+    public static <T> PaginaLigera<T> de(Slice<T> slice) {
+        return new PaginaLigera<>(slice);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("contenido");
+        for (T elemento : slice.getContent()) {
+            serializers.defaultSerializeValue(elemento, gen);
+        }
+        gen.writeEndArray();
+        if (slice.hasNext()) {
+            gen.writeNumberField("siguientePagina", slice.getNumber() + 1);
+        }
+        if (slice instanceof Page<T> pagina) {
+            gen.writeNumberField("total", pagina.getTotalElements());
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+}
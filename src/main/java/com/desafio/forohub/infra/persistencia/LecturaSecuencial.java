@@ -0,0 +1,35 @@
+package com.desafio.forohub.infra.persistencia;
+
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+/**
+ * Consultas que recorren una tabla entera en streaming. MySQL Connector/J sólo entrega las filas una a una
+ * con fetch size Integer.MIN_VALUE (con cualquier otro valor carga el resultado entero); los demás drivers,
+ * como el H2 de las pruebas, rechazan ese valor y respetan un fetch size positivo.
+ * Los streams deben consumirse dentro de una transacción.
+ */
+public class LecturaSecuencial {
+
+    private final int fetchSize;
+
+    public LecturaSecuencial(DataSource dataSource, int fetchSizeOtros) {
+        try (var conexion = dataSource.getConnection()) {
+            var producto = conexion.getMetaData().getDatabaseProductName();
+            this.fetchSize = "MySQL".equalsIgnoreCase(producto) ? Integer.MIN_VALUE : fetchSizeOtros;
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo identificar la base de datos", e);
+        }
+    }
+
+    public <T> Stream<T> stream(TypedQuery<T> consulta) {
+        return consulta
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
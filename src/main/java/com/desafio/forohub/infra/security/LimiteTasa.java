@@ -0,0 +1,40 @@
+package com.desafio.forohub.infra.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin locks implementado como GCRA: todo el estado es un único {@code long}
+ * (el instante teórico de la próxima llegada) que se actualiza con CAS, sin reservar memoria por petición.
+ */
+final class LimiteTasa {
+
+    //nanoTime puede ser negativo: se parte del mínimo para que un bucket nuevo esté lleno
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+
+    LimiteTasa(int capacidad, long intervaloNanos) {
+        this.intervaloNanos = intervaloNanos;
+        this.toleranciaNanos = intervaloNanos * (capacidad - 1L);
+    }
+
+    //Devuelve 0 si se consume un token o los nanosegundos a esperar hasta el siguiente
+    long intentarConsumir(long ahora) {
+        while (true) {
+            long actual = tat.get();
+            long base = Math.max(actual, ahora);
+            long espera = base - ahora - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (tat.compareAndSet(actual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    //Un bucket lleno de nuevo equivale a uno recién creado y se puede descartar
+    boolean inactivo(long ahora) {
+        return tat.get() <= ahora;
+    }
+}
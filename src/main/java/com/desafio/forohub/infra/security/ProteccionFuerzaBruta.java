@@ -0,0 +1,138 @@
+package com.desafio.forohub.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contadores de intentos fallidos de login por usuario y por IP con ventana deslizante
+ * (ventana actual + anterior ponderada). Una clave bloqueada se rechaza antes de buscar al usuario
+ * y de ejecutar BCrypt. Los contadores se reparten en franjas con su propio lock y un tope de
+ * entradas por franja, así la memoria queda acotada aunque el ataque use muchos nombres o IPs.
+ */
+@Component
+public class ProteccionFuerzaBruta {
+
+    private static final int FRANJAS = 64;
+
+    private final Franja[] franjas = new Franja[FRANJAS];
+    private final int maxFallosUsuario;
+    private final int maxFallosIp;
+    private final long ventanaMillis;
+    private final long bloqueoMillis;
+    private final Counter rechazados;
+
+    public ProteccionFuerzaBruta(@Value("${api.security.login.max-failures-user:5}") int maxFallosUsuario,
+                                 @Value("${api.security.login.max-failures-ip:50}") int maxFallosIp,
+                                 @Value("${api.security.login.window:15m}") Duration ventana,
+                                 @Value("${api.security.login.lockout:15m}") Duration bloqueo,
+                                 @Value("${api.security.login.max-keys:100000}") int maxClaves,
+                                 MeterRegistry meterRegistry) {
+        this.maxFallosUsuario = maxFallosUsuario;
+        this.maxFallosIp = maxFallosIp;
+        this.ventanaMillis = ventana.toMillis();
+        this.bloqueoMillis = bloqueo.toMillis();
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new Franja(Math.max(1, maxClaves / FRANJAS));
+        }
+        this.rechazados = Counter.builder("forohub.login.locked.rejected").register(meterRegistry);
+    }
+
+    //Devuelve los milisegundos de bloqueo restantes, 0 si el login puede continuar
+    public long bloqueoRestante(String username, String ip) {
+        long ahora = System.currentTimeMillis();
+        long restante = Math.max(restante("u:" + username, ahora), restante("ip:" + ip, ahora));
+        if (restante > 0) {
+            rechazados.increment();
+        }
+        return restante;
+    }
+
+    public void registrarFallo(String username, String ip) {
+        long ahora = System.currentTimeMillis();
+        fallo("u:" + username, maxFallosUsuario, ahora);
+        fallo("ip:" + ip, maxFallosIp, ahora);
+    }
+
+    public void registrarExito(String username) {
+        var clave = "u:" + username;
+        var franja = franja(clave);
+        synchronized (franja) {
+            franja.contadores.remove(clave);
+        }
+    }
+
+    private long restante(String clave, long ahora) {
+        var franja = franja(clave);
+        synchronized (franja) {
+            var contador = franja.contadores.get(clave);
+            return contador == null ? 0 : Math.max(0, contador.bloqueadoHasta - ahora);
+        }
+    }
+
+    private void fallo(String clave, int maximo, long ahora) {
+        var franja = franja(clave);
+        synchronized (franja) {
+            var contador = franja.contadores.get(clave);
+            if (contador == null) {
+                if (franja.contadores.size() >= franja.capacidad) {
+                    franja.purgar(ahora, ventanaMillis);
+                    if (franja.contadores.size() >= franja.capacidad) {
+                        return; //Franja llena de claves activas: el contador por IP sigue protegiendo
+                    }
+                }
+                contador = new Contador();
+                franja.contadores.put(clave, contador);
+            }
+            if (contador.estimar(ahora, ventanaMillis) + 1 >= maximo) {
+                contador.bloqueadoHasta = ahora + bloqueoMillis;
+            }
+            contador.actual++;
+        }
+    }
+
+    private Franja franja(String clave) {
+        return franjas[(clave.hashCode() & 0x7fffffff) % FRANJAS];
+    }
+
+    private static final class Franja {
+        private final Map<String, Contador> contadores = new HashMap<>();
+        private final int capacidad;
+
+        private Franja(int capacidad) {
+            this.capacidad = capacidad;
+        }
+
+        private void purgar(long ahora, long ventanaMillis) {
+            contadores.values().removeIf(c -> c.bloqueadoHasta <= ahora && c.estimar(ahora, ventanaMillis) == 0);
+        }
+    }
+
+    private static final class Contador {
+        private long inicioVentana;
+        private int actual;
+        private int anterior;
+        private long bloqueadoHasta;
+
+        //Desplaza la ventana si hace falta y devuelve la estimación de fallos en los últimos ventanaMillis
+        private double estimar(long ahora, long ventanaMillis) {
+            long transcurrido = ahora - inicioVentana;
+            if (transcurrido >= 2 * ventanaMillis) {
+                anterior = 0;
+                actual = 0;
+                inicioVentana = ahora - (ahora % ventanaMillis);
+            } else if (transcurrido >= ventanaMillis) {
+                anterior = actual;
+                actual = 0;
+                inicioVentana += ventanaMillis;
+            }
+            double peso = 1.0 - (double) (ahora - inicioVentana) / ventanaMillis;
+            return actual + anterior * peso;
+        }
+    }
+}
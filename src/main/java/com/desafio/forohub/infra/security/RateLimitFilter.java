@@ -0,0 +1,129 @@
+package com.desafio.forohub.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Presupuesto de peticiones por usuario autenticado (subject del JWT) y por grupo de rutas: crear tópicos
+ * (POST /topicos), crear respuestas (POST /respuestas), listados (GET paginados de tópicos y respuestas),
+ * el resto de escrituras (POST/PUT/PATCH/DELETE) y el resto de lecturas (GET/HEAD). Cada grupo tiene su propio
+ * bucket por usuario, así que agotar uno no frena a los demás. OPTIONS no consume presupuesto.
+ * Se ejecuta después de {@link SecurityFilter}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher RUTAS = new AntPathMatcher();
+    private static final List<String> LISTADOS = List.of(
+            "/topicos", "/topicos/all", "/topicos/cursor", "/topicos/all/cursor", "/topicos/search",
+            "/respuestas/topico/**", "/respuestas/usuario/**");
+
+    private final ConcurrentHashMap<String, LimiteTasa> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final Grupo crearTopico;
+    private final Grupo crearRespuesta;
+    private final Grupo listado;
+    private final Grupo escritura;
+    private final Grupo lectura;
+
+    private record Grupo(String nombre, int capacidad, long intervaloNanos, LimiteTasa desborde, Counter rechazos) {
+        private Grupo(String nombre, int capacidad, int porMinuto, MeterRegistry meterRegistry) {
+            this(nombre, capacidad, TimeUnit.MINUTES.toNanos(1) / porMinuto,
+                    //Si el mapa se llena, los usuarios nuevos comparten un bucket global en lugar de quedar sin límite
+                    new LimiteTasa(capacidad * 10, TimeUnit.MINUTES.toNanos(1) / porMinuto / 10),
+                    Counter.builder("forohub.ratelimit.rejected").tag("tipo", nombre).register(meterRegistry));
+        }
+    }
+
+    public RateLimitFilter(@Value("${api.rate-limit.create-topic.capacity:3}") int capacidadCrearTopico,
+                           @Value("${api.rate-limit.create-topic.per-minute:6}") int crearTopicoPorMinuto,
+                           @Value("${api.rate-limit.create-reply.capacity:5}") int capacidadCrearRespuesta,
+                           @Value("${api.rate-limit.create-reply.per-minute:20}") int crearRespuestaPorMinuto,
+                           @Value("${api.rate-limit.listing.capacity:30}") int capacidadListado,
+                           @Value("${api.rate-limit.listing.per-minute:300}") int listadosPorMinuto,
+                           @Value("${api.rate-limit.write.capacity:10}") int capacidadEscritura,
+                           @Value("${api.rate-limit.write.per-minute:30}") int escriturasPorMinuto,
+                           @Value("${api.rate-limit.read.capacity:60}") int capacidadLectura,
+                           @Value("${api.rate-limit.read.per-minute:600}") int lecturasPorMinuto,
+                           @Value("${api.rate-limit.max-buckets:100000}") int maxBuckets,
+                           MeterRegistry meterRegistry) {
+        this.maxBuckets = maxBuckets;
+        this.crearTopico = new Grupo("crear-topico", capacidadCrearTopico, crearTopicoPorMinuto, meterRegistry);
+        this.crearRespuesta = new Grupo("crear-respuesta", capacidadCrearRespuesta, crearRespuestaPorMinuto, meterRegistry);
+        this.listado = new Grupo("listado", capacidadListado, listadosPorMinuto, meterRegistry);
+        this.escritura = new Grupo("escritura", capacidadEscritura, escriturasPorMinuto, meterRegistry);
+        this.lectura = new Grupo("lectura", capacidadLectura, lecturasPorMinuto, meterRegistry);
+        Gauge.builder("forohub.ratelimit.buckets", buckets, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if ("OPTIONS".equals(request.getMethod())
+                || authentication == null || !(authentication.getPrincipal() instanceof UsuarioAutenticado usuario)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var grupo = grupo(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        long espera = bucket(usuario.id(), grupo).intentarConsumir(System.nanoTime());
+        if (espera > 0) {
+            grupo.rechazos().increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera) + 1)));
+            response.getWriter().write("Límite de solicitudes excedido.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Grupo grupo(String metodo, String ruta) {
+        if ("GET".equals(metodo) || "HEAD".equals(metodo)) {
+            return LISTADOS.stream().anyMatch(patron -> RUTAS.match(patron, ruta)) ? listado : lectura;
+        }
+        if ("POST".equals(metodo) && "/topicos".equals(ruta)) {
+            return crearTopico;
+        }
+        if ("POST".equals(metodo) && "/respuestas".equals(ruta)) {
+            return crearRespuesta;
+        }
+        return escritura;
+    }
+
+    private LimiteTasa bucket(Long usuarioId, Grupo grupo) {
+        var clave = grupo.nombre() + ":" + usuarioId;
+        var bucket = buckets.get(clave);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            return grupo.desborde();
+        }
+        return buckets.computeIfAbsent(clave, k -> new LimiteTasa(grupo.capacidad(), grupo.intervaloNanos()));
+    }
+
+    @Scheduled(fixedDelayString = "${api.rate-limit.eviction-interval:60000}")
+    public void desalojarInactivos() {
+        long ahora = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.inactivo(ahora));
+    }
+}
@@ -0,0 +1,53 @@
+package com.desafio.forohub.infra.security;
+
+import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versión vigente de los tokens de cada usuario. Un token emitido con una versión menor
+ * (o con {@code enabled = false}) se rechaza sin consultar la BD. Sólo se guardan los usuarios
+ * cuya versión se incrementó alguna vez, así que el mapa crece con las revocaciones, no con los usuarios.
+ */
+@Component
+public class RevocacionTokens {
+
+    private final ConcurrentHashMap<Long, Integer> versiones = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarVersiones() {
+        usuarioRepository.findAllByTokenVersionGreaterThan(0)
+                .forEach(usuario -> versiones.merge(usuario.getId(), usuario.getTokenVersion(), Math::max));
+    }
+
+    public boolean vigente(UsuarioAutenticado usuario) {
+        if (!usuario.enabled()) {
+            return false;
+        }
+        var version = versiones.get(usuario.id());
+        return version == null || usuario.tokenVersion() >= version;
+    }
+
+    //Se publica tras el commit para no revocar tokens si la transacción se revierte
+    public void revocar(Long usuarioId, int nuevaVersion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versiones.merge(usuarioId, nuevaVersion, Math::max);
+                }
+            });
+        } else {
+            versiones.merge(usuarioId, nuevaVersion, Math::max);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.desafio.forohub.infra.security;
 
-import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.desafio.forohub.domain.usuario.Role;
 import com.desafio.forohub.infra.service.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,11 +18,13 @@ import java.io.IOException;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    static final String TOKEN_INVALIDO = SecurityFilter.class.getName() + ".TOKEN_INVALIDO";
+
     @Autowired
     private TokenService tokenService;
 
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private RevocacionTokens revocacionTokens;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,15 +33,37 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         if (authHeader != null){
             var token = authHeader.replace("Bearer ", "");
-            var username = tokenService.getSubject(token);
+            var usuario = verificar(token);
 
-            if (username != null){
-                var usuario = usuarioRepository.findByUsername(username)
-                        .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            if (usuario != null && revocacionTokens.vigente(usuario)){
                 var authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+            } else {
+                //La petición sigue sin autenticar: las rutas protegidas responden 401 y el cliente sabe que debe renovar
+                request.setAttribute(TOKEN_INVALIDO, Boolean.TRUE);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    //Un token vencido es lo normal con access tokens cortos: no es un error del servidor
+    private UsuarioAutenticado verificar(String token) {
+        try {
+            return construirPrincipal(tokenService.verificarToken(token));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    //Tokens emitidos antes de incluir estos claims no traen rol ni versión: se tratan como no autenticados
+    private UsuarioAutenticado construirPrincipal(DecodedJWT jwt) {
+        var id = jwt.getClaim("id").asLong();
+        var role = jwt.getClaim("role").asString();
+        var enabled = jwt.getClaim("enabled").asBoolean();
+        var version = jwt.getClaim("ver").asInt();
+        if (id == null || role == null || enabled == null || version == null) {
+            return null;
+        }
+        return new UsuarioAutenticado(id, jwt.getSubject(), Role.valueOf(role), enabled, version);
+    }
+}
@@ -0,0 +1,41 @@
+package com.desafio.forohub.infra.security;
+
+import com.desafio.forohub.domain.usuario.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+//Principal inmutable construido con los claims del JWT: no lleva el hash de la contraseña ni requiere consultar la BD
+public record UsuarioAutenticado(
+        Long id,
+        String username,
+        Role role,
+        boolean enabled,
+        int tokenVersion
+) implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
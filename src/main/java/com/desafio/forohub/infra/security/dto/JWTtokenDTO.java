@@ -1,6 +1,7 @@
 package com.desafio.forohub.infra.security.dto;
 
 public record JWTtokenDTO(
-        String JWTtoken
+        String JWTtoken,
+        String refreshToken
 ) {
 }
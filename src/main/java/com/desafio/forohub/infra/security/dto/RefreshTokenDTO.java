@@ -0,0 +1,8 @@
+package com.desafio.forohub.infra.security.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDTO(
+        @NotBlank String refreshToken
+) {
+}
@@ -0,0 +1,133 @@
+package com.desafio.forohub.infra.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Visitas por tópico acumuladas en memoria (un LongAdder por tópico visitado) y volcadas a topicos.view_count
+ * con UPDATE en lote. Registrar una visita nunca toca la base de datos.
+ * <p>
+ * Sólo se guardan los tópicos visitados desde el último volcado y como mucho {@code max-pendientes}; si la tabla
+ * se llena, las visitas a tópicos nuevos se descartan y se cuentan en {@code forohub.topicos.visitas.descartadas}.
+ * Cada lote se escribe en su propia transacción: si falla, sus visitas y las de los lotes siguientes vuelven a la
+ * generación actual y se reintentan en el próximo volcado. Una caída pierde lo acumulado desde el último volcado
+ * (a lo sumo dos intervalos), igual que un fallo durante el apagado; view_count es aproximado.
+ */
+@Component
+public class ContadorVisitas implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadorVisitas.class);
+    private static final String SQL = "update topicos set view_count = view_count + ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPendientes;
+    private final int tamanoLote;
+    private final Counter descartadas;
+    private final Counter volcadas;
+
+    //Generación que recibe visitas y la que se cerró en el volcado anterior. Un hilo que leyó la referencia
+    //justo antes del cambio puede seguir sumando en la generación cerrada; por eso se vuelca un ciclo después.
+    private volatile ConcurrentHashMap<Long, LongAdder> actual = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<Long, LongAdder> cerrada = new ConcurrentHashMap<>();
+
+    public ContadorVisitas(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${api.topicos.visitas.max-pendientes:100000}") int maxPendientes,
+                           @Value("${api.topicos.visitas.batch-size:500}") int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPendientes = maxPendientes;
+        this.tamanoLote = tamanoLote;
+        this.descartadas = Counter.builder("forohub.topicos.visitas.descartadas").register(meterRegistry);
+        this.volcadas = Counter.builder("forohub.topicos.visitas.volcadas").register(meterRegistry);
+        Gauge.builder("forohub.topicos.visitas.pendientes", this, c -> c.actual.size()).register(meterRegistry);
+    }
+
+    public void registrar(Long topicoId) {
+        var pendientes = actual;
+        LongAdder contador = pendientes.get(topicoId);
+        if (contador == null) {
+            if (pendientes.size() >= maxPendientes) {
+                descartadas.increment();
+                return;
+            }
+            contador = pendientes.computeIfAbsent(topicoId, id -> new LongAdder());
+        }
+        contador.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${api.topicos.visitas.flush-interval:10000}")
+    public synchronized void volcar() {
+        var aVolcar = cerrada;
+        cerrada = actual;
+        actual = new ConcurrentHashMap<>();
+        var fallidas = escribir(aVolcar);
+        //Se suman a la generación actual aunque supere max-pendientes: son tópicos que ya estaban contados
+        fallidas.forEach((id, visitas) -> actual.computeIfAbsent(id, k -> new LongAdder()).add(visitas));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        //Apagado ordenado: no hay más peticiones, se vuelcan ambas generaciones
+        var perdidas = escribir(cerrada).size() + escribir(actual).size();
+        if (perdidas > 0) {
+            log.warn("Se pierden las visitas de {} tópicos al apagar", perdidas);
+        }
+        cerrada = new ConcurrentHashMap<>();
+        actual = new ConcurrentHashMap<>();
+    }
+
+    //Devuelve las visitas que no se escribieron, por tópico
+    private Map<Long, Long> escribir(Map<Long, LongAdder> pendientes) {
+        if (pendientes.isEmpty()) {
+            return Map.of();
+        }
+        //Orden por id: dos volcados nunca bloquean filas en orden inverso
+        List<Object[]> filas = new ArrayList<>(pendientes.size());
+        pendientes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> filas.add(new Object[]{e.getValue().sum(), e.getKey()}));
+        long total = 0;
+        int desde = 0;
+        try {
+            for (; desde < filas.size(); desde += tamanoLote) {
+                var lote = filas.subList(desde, Math.min(desde + tamanoLote, filas.size()));
+                int[] actualizadas = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(SQL, lote));
+                for (int i = 0; i < lote.size(); i++) {
+                    //0 filas: el tópico se borró o se archivó y sus visitas ya no tienen dónde ir
+                    if (actualizadas[i] > 0 || actualizadas[i] == Statement.SUCCESS_NO_INFO) {
+                        total += (Long) lote.get(i)[0];
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron volcar {} de {} tópicos con visitas: {}", filas.size() - desde, filas.size(), e.getMessage());
+        }
+        volcadas.increment(total);
+        Map<Long, Long> fallidas = new HashMap<>();
+        for (var fila : filas.subList(Math.min(desde, filas.size()), filas.size())) {
+            fallidas.put((Long) fila[1], (Long) fila[0]);
+        }
+        return fallidas;
+    }
+}
@@ -0,0 +1,49 @@
+package com.desafio.forohub.infra.service;
+
+import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recalcula desde respuestas los contadores desnormalizados de topicos. Los UPDATE incrementales
+ * son la vía normal; esto sólo corrige la deriva (ediciones manuales, fallos parciales) por tramos de id.
+ */
+@Service
+public class ReconciliacionContadoresService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliacionContadoresService.class);
+
+    private final TopicoRepository topicoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoTramo;
+
+    public ReconciliacionContadoresService(TopicoRepository topicoRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${api.topicos.reconciliacion.chunk-size:1000}") int tamanoTramo) {
+        this.topicoRepository = topicoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoTramo = tamanoTramo;
+    }
+
+    @Scheduled(cron = "${api.topicos.reconciliacion.cron:0 30 3 * * *}")
+    public void reconciliar() {
+        Long maxId = topicoRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        long filas = 0;
+        //Una transacción corta por tramo para no bloquear toda la tabla
+        for (long desde = 1; desde <= maxId; desde += tamanoTramo) {
+            long inicio = desde;
+            Integer actualizadas = transactionTemplate.execute(status ->
+                    topicoRepository.reconciliarContadores(inicio, inicio + tamanoTramo - 1));
+            filas += actualizadas == null ? 0 : actualizadas;
+        }
+        log.info("Reconciliación de contadores de respuestas: {} tópicos revisados", filas);
+    }
+}
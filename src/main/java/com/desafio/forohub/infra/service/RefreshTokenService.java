@@ -0,0 +1,122 @@
+package com.desafio.forohub.infra.service;
+
+import com.desafio.forohub.domain.token.RefreshToken;
+import com.desafio.forohub.domain.token.repository.RefreshTokenRepository;
+import com.desafio.forohub.domain.usuario.Usuario;
+import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import com.desafio.forohub.infra.errors.TokenInvalidoException;
+import com.desafio.forohub.infra.security.dto.JWTtokenDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh tokens opacos con rotación en cada uso. Renovar cuesta un SHA-256 y un UPDATE condicional
+ * en lugar de un BCrypt. Si un token ya usado vuelve a presentarse se asume robo y se revoca toda su familia.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    //Tokens vigentes y sin usar; la tabla es la fuente de verdad, esto evita el SELECT en el caso normal
+    private final ConcurrentHashMap<String, Entrada> vigentes = new ConcurrentHashMap<>();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TokenService tokenService;
+    private final Duration duracion;
+    private final int maxEnMemoria;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UsuarioRepository usuarioRepository,
+                               TokenService tokenService,
+                               @Value("${api.security.refresh-token.ttl:30d}") Duration duracion,
+                               @Value("${api.security.refresh-token.max-in-memory:100000}") int maxEnMemoria) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.tokenService = tokenService;
+        this.duracion = duracion;
+        this.maxEnMemoria = maxEnMemoria;
+    }
+
+    @Transactional
+    public JWTtokenDTO iniciarSesion(Usuario usuario) {
+        return new JWTtokenDTO(tokenService.generarToken(usuario), emitir(usuario, UUID.randomUUID().toString()));
+    }
+
+    @Transactional(noRollbackFor = TokenInvalidoException.class)
+    public JWTtokenDTO renovar(String refreshToken) {
+        var hash = VerifiedTokenCache.digest(refreshToken);
+
+        var entrada = vigentes.remove(hash);
+        if (entrada == null) {
+            var guardado = refreshTokenRepository.findByTokenHash(hash)
+                    .orElseThrow(() -> new TokenInvalidoException("Refresh token inválido."));
+            entrada = new Entrada(guardado);
+            if (guardado.getUsado()) {
+                revocarFamilia(entrada.familia());
+                throw new TokenInvalidoException("Refresh token reutilizado, la sesión fue revocada.");
+            }
+        }
+        if (entrada.expiraEn().isBefore(LocalDateTime.now())) {
+            throw new TokenInvalidoException("Refresh token expirado.");
+        }
+        //El UPDATE condicional decide quién gana si dos renovaciones llegan a la vez
+        if (refreshTokenRepository.marcarUsado(hash) == 0) {
+            revocarFamilia(entrada.familia());
+            throw new TokenInvalidoException("Refresh token reutilizado, la sesión fue revocada.");
+        }
+
+        var usuario = usuarioRepository.findById(entrada.usuarioId())
+                .orElseThrow(() -> new TokenInvalidoException("Refresh token inválido."));
+        if (!usuario.isEnabled() || !usuario.getTokenVersion().equals(entrada.tokenVersion())) {
+            revocarFamilia(entrada.familia());
+            throw new TokenInvalidoException("La sesión fue revocada.");
+        }
+        return new JWTtokenDTO(tokenService.generarToken(usuario), emitir(usuario, entrada.familia()));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.cleanup-interval:3600000}")
+    @Transactional
+    public void eliminarExpirados() {
+        var ahora = LocalDateTime.now();
+        vigentes.values().removeIf(entrada -> entrada.expiraEn().isBefore(ahora));
+        refreshTokenRepository.eliminarExpirados(ahora);
+    }
+
+    private String emitir(Usuario usuario, String familia) {
+        var bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        var hash = VerifiedTokenCache.digest(token);
+
+        var refresh = new RefreshToken(hash, familia, usuario.getId(), usuario.getTokenVersion(),
+                LocalDateTime.now().plus(duracion));
+        refreshTokenRepository.save(refresh);
+        if (vigentes.size() < maxEnMemoria) {
+            vigentes.put(hash, new Entrada(refresh));
+        }
+        return token;
+    }
+
+    private void revocarFamilia(String familia) {
+        vigentes.values().removeIf(entrada -> entrada.familia().equals(familia));
+        refreshTokenRepository.eliminarFamilia(familia);
+    }
+
+    private record Entrada(Long usuarioId, String familia, Integer tokenVersion, LocalDateTime expiraEn) {
+        private Entrada(RefreshToken refreshToken) {
+            this(refreshToken.getUsuarioId(), refreshToken.getFamilia(),
+                    refreshToken.getTokenVersion(), refreshToken.getExpiraEn());
+        }
+    }
+}
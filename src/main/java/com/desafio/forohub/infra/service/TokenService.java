@@ -1,6 +1,7 @@
 package com.desafio.forohub.infra.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
@@ -9,23 +10,40 @@ import com.desafio.forohub.domain.usuario.Usuario;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.secret}")
-    private String apiSecret;
+    private static final String ISSUER = "Challenge";
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final VerifiedTokenCache tokenCache;
+    private final Duration duracion;
+
+    //El algoritmo y el verificador son inmutables y thread-safe: se construyen una sola vez al arrancar
+    public TokenService(@Value("${api.security.secret}") String apiSecret,
+                        @Value("${api.security.access-token.ttl:15m}") Duration duracion,
+                        VerifiedTokenCache tokenCache) {
+        this.algorithm = Algorithm.HMAC256(apiSecret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.tokenCache = tokenCache;
+        this.duracion = duracion;
+    }
 
     public String generarToken(Usuario usuario){
         try{
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
             return JWT.create()
-                    .withIssuer("Challenge")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getUsername())
                     .withClaim("id", usuario.getId())
+                    .withClaim("role", usuario.getRole().name())
+                    .withClaim("enabled", usuario.getEnabled())
+                    .withClaim("ver", usuario.getTokenVersion())
                     .withExpiresAt(generarFechaVencimiento())
                     .sign(algorithm);
         }catch (JWTCreationException e){
@@ -35,31 +53,35 @@ public class TokenService {
     }
 
     public String getSubject(String token){
+        return verificarToken(token).getSubject();
+    }
+
+    public DecodedJWT verificarToken(String token){
         if (token == null){
             throw new RuntimeException("Token is null");
         }
 
-        DecodedJWT verifier = null;
+        //Un token ya verificado y aún vigente no vuelve a pasar por el HMAC
+        var clave = VerifiedTokenCache.digest(token);
+        var decoded = tokenCache.get(clave);
+        if (decoded != null){
+            return decoded;
+        }
 
         //validar firma
         try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
-            verifier = JWT.require(algorithm)
-                    .withIssuer("Challenge")
-                    .build()
-                    .verify(token);
-            verifier.getSubject();
-
+            decoded = verifier.verify(token);
         }catch (JWTVerificationException e){
-            System.out.println(e.toString()); ////Esto podría mejorarse para que devuelva "token no válido" o "token caducado" en el cuerpo y no en la consola
+            throw new RuntimeException("Token JWT inválido o expirado", e);
         }
-        if (verifier.getSubject() == null){
+        if (decoded.getSubject() == null){
             throw new RuntimeException("Invalid verifier");
         }
-        return verifier.getSubject();
+        tokenCache.put(clave, decoded);
+        return decoded;
     }
 
     private Instant generarFechaVencimiento() {
-        return LocalDateTime.now().plusHours(6).toInstant(ZoneOffset.of("-06:00"));
+        return Instant.now().plus(duracion);
     }
 }
@@ -0,0 +1,99 @@
+package com.desafio.forohub.infra.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache acotado de tokens JWT ya verificados. La clave es un SHA-256 del token
+ * (nunca se guarda el token en claro) y cada entrada caduca en el {@code exp} del propio token.
+ * Caffeine acota el tamaño: con el cache lleno desaloja las entradas menos usadas en lugar de rechazar las nuevas.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, DecodedJWT> tokens;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    //Cada entrada vive hasta el exp de su token; actualizarla o leerla no lo alarga
+    private static final class HastaElExp implements Expiry<String, DecodedJWT> {
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAtAsInstant()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public VerifiedTokenCache(@Value("${api.security.token-cache.max-size:10000}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new HastaElExp())
+                .build();
+        FunctionCounter.builder("forohub.token.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("forohub.token.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("forohub.token.cache.size", tokens, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    public DecodedJWT get(String key) {
+        DecodedJWT jwt = tokens.getIfPresent(key);
+        if (jwt == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return jwt;
+    }
+
+    public void put(String key, DecodedJWT jwt) {
+        if (jwt.getExpiresAtAsInstant() == null) {
+            return; //Sin fecha de vencimiento no sabemos cuándo desalojarlo
+        }
+        tokens.put(key, jwt);
+    }
+
+    public void invalidar(String key) {
+        tokens.invalidate(key);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Rellena topicos.contenido_hash por lotes de id, cada lote en su propio commit para no
+ * mantener bloqueada la tabla. Si ya existe un tópico anterior con el mismo contenido, el duplicado
+ * histórico se queda con NULL (el índice único admite varios NULL).
+ * <p>
+ * La huella se calcula con una copia congelada de ContenidoHash tal como era en esta versión: si la
+ * aplicación cambia su normalización, esta migración debe seguir produciendo los mismos hashes.
+ */
+public class V9__Backfill_contenido_hash_topicos extends BaseJavaMigration {
+
+    private static final int LOTE = 1000;
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (var select = connection.prepareStatement(
+                "SELECT id, titulo, mensaje FROM topicos WHERE id > ? AND contenido_hash IS NULL ORDER BY id LIMIT " + LOTE);
+             var update = connection.prepareStatement(
+                     "UPDATE topicos SET contenido_hash = ? WHERE id = ? AND NOT EXISTS "
+                             + "(SELECT 1 FROM (SELECT id FROM topicos WHERE contenido_hash = ?) existente)")) {
+            long ultimoId = 0;
+            while (true) {
+                var lote = leerLote(select, ultimoId);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                for (var fila : lote) {
+                    var hash = contenidoHash(fila.titulo(), fila.mensaje());
+                    update.setBytes(1, hash);
+                    update.setLong(2, fila.id());
+                    update.setBytes(3, hash);
+                    //Uno a uno: dos filas duplicadas dentro del mismo lote no deben invalidar el batch entero
+                    update.executeUpdate();
+                }
+                connection.commit();
+                ultimoId = lote.get(lote.size() - 1).id();
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private List<Fila> leerLote(PreparedStatement select, long ultimoId) throws SQLException {
+        select.setLong(1, ultimoId);
+        var lote = new ArrayList<Fila>(LOTE);
+        try (var rs = select.executeQuery()) {
+            while (rs.next()) {
+                lote.add(new Fila(rs.getLong(1), rs.getString(2), rs.getString(3)));
+            }
+        }
+        return lote;
+    }
+
+    private static byte[] contenidoHash(String titulo, String mensaje) {
+        var contenido = normalizar(titulo) + '\u0000' + normalizar(mensaje);
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contenido.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String normalizar(String texto) {
+        var nfc = Normalizer.normalize(texto, Normalizer.Form.NFC);
+        return ESPACIOS.matcher(nfc.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Fila(long id, String titulo, String mensaje) {
+    }
+}
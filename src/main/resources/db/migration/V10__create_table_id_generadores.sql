@@ -0,0 +1,10 @@
+-- Bloques de ids para topicos y respuestas (TableGenerator pooled, allocationSize = 50).
+-- A diferencia de AUTO_INCREMENT, Hibernate conoce el id antes del INSERT y puede agrupar inserciones en lotes JDBC.
+-- Se parte de MAX(id) + 51 para que el primer bloque quede por encima de cualquier id existente.
+CREATE TABLE id_generadores (
+    entidad VARCHAR(64) NOT NULL PRIMARY KEY,
+    siguiente BIGINT NOT NULL
+);
+
+INSERT INTO id_generadores (entidad, siguiente) SELECT 'topicos', COALESCE(MAX(id), 0) + 51 FROM topicos;
+INSERT INTO id_generadores (entidad, siguiente) SELECT 'respuestas', COALESCE(MAX(id), 0) + 51 FROM respuestas;
@@ -0,0 +1,11 @@
+-- Contadores desnormalizados de respuestas (no borradas); se mantienen con UPDATE atómicos desde RespuestaController
+ALTER TABLE topicos ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+ALTER TABLE topicos ADD COLUMN last_reply_at DATETIME NULL;
+ALTER TABLE topicos ADD COLUMN last_reply_user_id BIGINT NULL;
+ALTER TABLE topicos ADD CONSTRAINT fk_topicos_last_reply_user FOREIGN KEY (last_reply_user_id) REFERENCES usuarios(id);
+
+UPDATE topicos t SET
+    reply_count = (SELECT COUNT(*) FROM respuestas r WHERE r.topico_id = t.id AND r.borrado = FALSE),
+    last_reply_at = (SELECT MAX(r.fecha_creacion) FROM respuestas r WHERE r.topico_id = t.id AND r.borrado = FALSE),
+    last_reply_user_id = (SELECT r.usuario_id FROM respuestas r WHERE r.topico_id = t.id AND r.borrado = FALSE
+                          ORDER BY r.fecha_creacion DESC, r.id DESC LIMIT 1);
@@ -0,0 +1,6 @@
+-- Puntero a la respuesta marcada como solución: /topicos/{id}/solucion pasa a ser un join por clave primaria
+ALTER TABLE topicos ADD COLUMN solucion_respuesta_id BIGINT NULL;
+ALTER TABLE topicos ADD CONSTRAINT fk_topicos_solucion_respuesta FOREIGN KEY (solucion_respuesta_id) REFERENCES respuestas(id);
+
+UPDATE topicos t SET solucion_respuesta_id =
+    (SELECT MIN(r.id) FROM respuestas r WHERE r.topico_id = t.id AND r.solucion = TRUE);
@@ -0,0 +1,8 @@
+-- V3 declaró estado con valores que no coinciden con el enum Estado (ABIERTO, CERRADO).
+-- Se amplía el ENUM, se traducen los valores existentes y se deja sólo el dominio real.
+ALTER TABLE topicos MODIFY COLUMN estado ENUM('OPEN', 'CLOSED', 'DELETED', 'ABIERTO', 'CERRADO') NOT NULL;
+
+UPDATE topicos SET estado = 'ABIERTO' WHERE estado = 'OPEN';
+UPDATE topicos SET estado = 'CERRADO' WHERE estado IN ('CLOSED', 'DELETED');
+
+ALTER TABLE topicos MODIFY COLUMN estado ENUM('ABIERTO', 'CERRADO') NOT NULL;
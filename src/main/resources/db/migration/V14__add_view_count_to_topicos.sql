@@ -0,0 +1,4 @@
+-- Visitas por tópico, escritas en lotes por ContadorVisitas (write-behind), nunca desde la ruta de lectura
+ALTER TABLE topicos ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_topicos_view_count ON topicos (view_count, id);
@@ -0,0 +1,38 @@
+-- Almacén frío: tópicos cerrados antiguos y sus respuestas, movidos por ArchivadoTopicosService.
+-- Mismas columnas que las tablas calientes más la fecha de archivado; respuestas_archivo apunta a topicos_archivo.
+CREATE TABLE topicos_archivo (
+    id BIGINT PRIMARY KEY,
+    estado ENUM('ABIERTO', 'CERRADO') NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    mensaje VARCHAR(255) NOT NULL,
+    titulo VARCHAR(255) NOT NULL,
+    ultima_actualizacion DATETIME NOT NULL,
+    curso_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    contenido_hash BINARY(32) NULL,
+    reply_count INT NOT NULL,
+    last_reply_at DATETIME NULL,
+    last_reply_user_id BIGINT NULL,
+    solucion_respuesta_id BIGINT NULL,
+    view_count BIGINT NOT NULL,
+    archivado_en DATETIME NOT NULL,
+    FOREIGN KEY (curso_id) REFERENCES cursos(id),
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+);
+
+CREATE INDEX idx_topicos_archivo_ultima_actualizacion ON topicos_archivo (ultima_actualizacion, id);
+
+CREATE TABLE respuestas_archivo (
+    id BIGINT PRIMARY KEY,
+    borrado BIT(1) NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    mensaje VARCHAR(255) NOT NULL,
+    solucion BIT(1) NOT NULL,
+    ultima_actualizacion DATETIME NOT NULL,
+    topico_id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    FOREIGN KEY (topico_id) REFERENCES topicos_archivo(id),
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+);
+
+CREATE INDEX idx_respuestas_archivo_topico ON respuestas_archivo (topico_id, ultima_actualizacion, id);
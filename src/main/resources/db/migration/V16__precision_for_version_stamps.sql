@@ -0,0 +1,7 @@
+-- Las ETag se derivan de estas fechas: con precisión de segundos, dos cambios en el mismo segundo darían la misma versión
+ALTER TABLE topicos MODIFY COLUMN ultima_actualizacion DATETIME(6) NOT NULL;
+ALTER TABLE topicos MODIFY COLUMN last_reply_at DATETIME(6) NULL;
+ALTER TABLE respuestas MODIFY COLUMN ultima_actualizacion DATETIME(6) NOT NULL;
+
+-- MAX(last_reply_at) para la versión del listado de tópicos sin recorrer la tabla
+CREATE INDEX idx_topicos_last_reply_at ON topicos (last_reply_at);
@@ -0,0 +1,5 @@
+-- Soluciones desmarcadas o borradas antes de que se soltara el puntero
+UPDATE topicos t SET solucion_respuesta_id = NULL
+WHERE t.solucion_respuesta_id IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM respuestas r
+                  WHERE r.id = t.solucion_respuesta_id AND r.solucion = TRUE AND r.borrado = FALSE);
@@ -0,0 +1,4 @@
+-- Misma precisión que las tablas vivas (V16): al archivar no se truncan las fechas de las que salen las ETag
+ALTER TABLE topicos_archivo MODIFY COLUMN ultima_actualizacion DATETIME(6) NOT NULL;
+ALTER TABLE topicos_archivo MODIFY COLUMN last_reply_at DATETIME(6) NULL;
+ALTER TABLE respuestas_archivo MODIFY COLUMN ultima_actualizacion DATETIME(6) NOT NULL;
@@ -0,0 +1 @@
+ALTER TABLE usuarios ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+CREATE TABLE refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash CHAR(43) NOT NULL UNIQUE,
+    familia CHAR(36) NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    token_version INT NOT NULL,
+    expira_en DATETIME NOT NULL,
+    usado BIT(1) NOT NULL,
+    INDEX idx_refresh_tokens_familia (familia),
+    INDEX idx_refresh_tokens_expira_en (expira_en),
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+);
@@ -0,0 +1,11 @@
+-- Listados de tópicos ordenados por ultima_actualizacion (findAll, findAllByEstadoIsNot y paginación por cursor)
+CREATE INDEX idx_topicos_ultima_actualizacion ON topicos (ultima_actualizacion, id);
+CREATE INDEX idx_topicos_estado_ultima_actualizacion ON topicos (estado, ultima_actualizacion, id);
+
+-- findAllByTopicoId / findAllByUsuarioId ordenados por ultima_actualizacion; también sirven a las FK
+CREATE INDEX idx_respuestas_topico_ultima_actualizacion ON respuestas (topico_id, ultima_actualizacion, id);
+CREATE INDEX idx_respuestas_usuario_ultima_actualizacion ON respuestas (usuario_id, ultima_actualizacion, id);
+
+-- findAllByActivoTrue / findAllByEnabledTrue ordenados por id
+CREATE INDEX idx_cursos_activo ON cursos (activo, id);
+CREATE INDEX idx_usuarios_enabled ON usuarios (enabled, id);
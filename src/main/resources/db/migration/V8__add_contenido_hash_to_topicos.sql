@@ -0,0 +1,3 @@
+-- SHA-256 de titulo + mensaje normalizados; NULL hasta que V9 lo rellene (y en duplicados históricos)
+ALTER TABLE topicos ADD COLUMN contenido_hash BINARY(32) NULL;
+CREATE UNIQUE INDEX uk_topicos_contenido_hash ON topicos (contenido_hash);
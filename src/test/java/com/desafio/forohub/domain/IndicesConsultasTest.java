@@ -0,0 +1,141 @@
+package com.desafio.forohub.domain;
+
+import com.desafio.forohub.domain.curso.repository.CursoRepository;
+import com.desafio.forohub.domain.respuesta.repository.RespuestaRepository;
+import com.desafio.forohub.domain.topico.Estado;
+import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import com.desafio.forohub.domain.usuario.repository.UsuarioRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Ejecuta cada método de los repositorios, captura el SQL que emite Hibernate y comprueba su EXPLAIN:
+//ninguno puede recorrer una tabla entera y los listados de tópicos deben salir ya ordenados del índice
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.desafio.forohub.domain.IndicesConsultasTest$SqlEmitido")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IndicesConsultasTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Set<String> ORDENADAS_POR_INDICE = Set.of(
+            "TopicoRepository.findAllDetalles", "TopicoRepository.findAllDetallesByEstadoIsNot",
+            "TopicoRepository.findSliceDetalles", "TopicoRepository.findSliceDetallesByEstadoIsNot",
+            "TopicoRepository.findDetallesDespuesDe", "TopicoRepository.findDetallesByEstadoIsNotDespuesDe");
+
+    public static class SqlEmitido implements StatementInspector {
+        private static final List<String> emitido = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (emitido) {
+                emitido.add(sql);
+            }
+            return sql;
+        }
+
+        static List<String> recoger(Runnable consulta) {
+            synchronized (emitido) {
+                emitido.clear();
+            }
+            consulta.run();
+            synchronized (emitido) {
+                return List.copyOf(emitido);
+            }
+        }
+    }
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+    @Autowired
+    private CursoRepository cursoRepository;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void ningunaConsultaHaceTableScan() throws SQLException {
+        //Mismo orden por defecto que los controladores
+        Pageable topicos = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "ultimaActualizacion"));
+        Pageable respuestas = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "ultimaActualizacion"));
+        Pageable porId = PageRequest.of(0, 5, Sort.by("id"));
+        Pageable cursor = PageRequest.ofSize(6);
+
+        Map<String, Runnable> metodos = new LinkedHashMap<>();
+        metodos.put("TopicoRepository.findAllDetalles", () -> topicoRepository.findAllDetalles(topicos));
+        metodos.put("TopicoRepository.findAllDetallesByEstadoIsNot", () -> topicoRepository.findAllDetallesByEstadoIsNot(Estado.CERRADO, topicos));
+        metodos.put("TopicoRepository.findSliceDetalles", () -> topicoRepository.findSliceDetalles(topicos));
+        metodos.put("TopicoRepository.findSliceDetallesByEstadoIsNot", () -> topicoRepository.findSliceDetallesByEstadoIsNot(Estado.CERRADO, topicos));
+        metodos.put("TopicoRepository.findDetallesDespuesDe", () -> topicoRepository.findDetallesDespuesDe(FECHA, 10L, cursor));
+        metodos.put("TopicoRepository.findDetallesByEstadoIsNotDespuesDe", () -> topicoRepository.findDetallesByEstadoIsNotDespuesDe(Estado.CERRADO, FECHA, 10L, cursor));
+        metodos.put("TopicoRepository.findDetallesById", () -> topicoRepository.findDetallesById(1L));
+        metodos.put("TopicoRepository.findVersionById", () -> topicoRepository.findVersionById(1L));
+        metodos.put("TopicoRepository.findAllDetallesByIdIn", () -> topicoRepository.findAllDetallesByIdIn(List.of(1L, 2L)));
+        metodos.put("RespuestaRepository.findAllByTopicoId", () -> respuestaRepository.findAllByTopicoId(1L, respuestas));
+        metodos.put("RespuestaRepository.findAllByUsuarioId", () -> respuestaRepository.findAllByUsuarioId(1L, respuestas));
+        metodos.put("RespuestaRepository.findAllDetallesByTopicoId", () -> respuestaRepository.findAllDetallesByTopicoId(1L, respuestas));
+        metodos.put("RespuestaRepository.findAllDetallesByUsuarioId", () -> respuestaRepository.findAllDetallesByUsuarioId(1L, respuestas));
+        metodos.put("RespuestaRepository.findSliceDetallesByTopicoId", () -> respuestaRepository.findSliceDetallesByTopicoId(1L, respuestas));
+        metodos.put("RespuestaRepository.findDetallesByTopicoIdDespuesDe", () -> respuestaRepository.findDetallesByTopicoIdDespuesDe(1L, FECHA, 10L, cursor));
+        metodos.put("RespuestaRepository.findVersionByTopicoId", () -> respuestaRepository.findVersionByTopicoId(1L));
+        metodos.put("RespuestaRepository.findVersionesByTopicoId", () -> respuestaRepository.findVersionesByTopicoId(1L, respuestas));
+        metodos.put("RespuestaRepository.findSolucionByTopicoId", () -> respuestaRepository.findSolucionByTopicoId(1L));
+        metodos.put("CursoRepository.findAllByActivoTrue", () -> cursoRepository.findAllByActivoTrue(porId));
+        metodos.put("UsuarioRepository.findAllByEnabledTrue", () -> usuarioRepository.findAllByEnabledTrue(porId));
+        metodos.put("UsuarioRepository.findByUsername", () -> usuarioRepository.findByUsername("usuario"));
+
+        try (var conexion = dataSource.getConnection()) {
+            for (var metodo : metodos.entrySet()) {
+                var sentencias = SqlEmitido.recoger(metodo.getValue());
+                assertThat(sentencias).as("SQL de %s", metodo.getKey()).isNotEmpty();
+                for (var sql : sentencias) {
+                    var plan = explicar(conexion, sql).toLowerCase();
+                    assertThat(plan).as("Plan de %s: %s", metodo.getKey(), plan).doesNotContain("tablescan");
+                    if (ORDENADAS_POR_INDICE.contains(metodo.getKey())) {
+                        assertThat(plan).as("Orden de %s: %s", metodo.getKey(), plan).contains("index sorted");
+                    }
+                }
+            }
+        }
+    }
+
+    //Los parámetros se enlazan según el tipo que H2 infiere; sus valores no cambian el plan
+    private static String explicar(Connection conexion, String sql) throws SQLException {
+        try (var sentencia = conexion.prepareStatement("EXPLAIN " + sql)) {
+            var parametros = sentencia.getParameterMetaData();
+            for (int i = 1; i <= parametros.getParameterCount(); i++) {
+                switch (parametros.getParameterType(i)) {
+                    case Types.TIMESTAMP -> sentencia.setTimestamp(i, Timestamp.valueOf(FECHA));
+                    case Types.BIGINT, Types.INTEGER -> sentencia.setLong(i, 1L);
+                    case Types.OTHER -> sentencia.setString(i, Estado.CERRADO.name()); //ENUM de estado
+                    default -> sentencia.setString(i, "5");
+                }
+            }
+            try (var resultado = sentencia.executeQuery()) {
+                resultado.next();
+                return resultado.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.desafio.forohub.domain.topico.repository;
+
+import com.desafio.forohub.domain.curso.repository.CursoRepository;
+import com.desafio.forohub.domain.topico.ContenidoHash;
+import com.desafio.forohub.domain.topico.Estado;
+import com.desafio.forohub.domain.topico.dto.ActualizarTopicoDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Un duplicado anterior a uk_topicos_contenido_hash (hash NULL tras V9) se puede cerrar y mover de curso
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DuplicadoHistoricoTest {
+
+    private static final long CURSO_ID = 930001L;
+    private static final long OTRO_CURSO_ID = 930002L;
+    private static final long USUARIO_ID = 930001L;
+    private static final long ORIGINAL_ID = 930001L;
+    private static final long DUPLICADO_ID = 930002L;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void preparar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ejecutar("insert into cursos (id, activo, categoria, name) values (" + CURSO_ID + ", true, 'BACKEND', 'Duplicados')");
+        ejecutar("insert into cursos (id, activo, categoria, name) values (" + OTRO_CURSO_ID + ", true, 'DEVOPS', 'Duplicados 2')");
+        ejecutar("insert into usuarios (id, apellido, email, enabled, nombre, password, role, username) values ("
+                + USUARIO_ID + ", 'Prueba', 'duplicados@forohub.com', true, 'Prueba', 'x', 'USUARIO', 'duplicados')");
+        for (long id : new long[]{ORIGINAL_ID, DUPLICADO_ID}) {
+            ejecutar("insert into topicos (id, estado, fecha_creacion, mensaje, titulo, ultima_actualizacion, curso_id, usuario_id, reply_count, view_count) values ("
+                    + id + ", 'ABIERTO', now(), 'mismo mensaje', 'mismo titulo', now(), " + CURSO_ID + ", " + USUARIO_ID + ", 0, 0)");
+        }
+        //Como deja V9: el primero con su hash, el duplicado sin él
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("update topicos set contenido_hash = :hash where id = " + ORIGINAL_ID)
+                .setParameter("hash", ContenidoHash.de("mismo titulo", "mismo mensaje"))
+                .executeUpdate());
+    }
+
+    @AfterEach
+    public void limpiar() {
+        ejecutar("delete from topicos where usuario_id = " + USUARIO_ID);
+        ejecutar("delete from usuarios where id = " + USUARIO_ID);
+        ejecutar("delete from cursos where id in (" + CURSO_ID + ", " + OTRO_CURSO_ID + ")");
+    }
+
+    @Test
+    public void cerrarOMoverElDuplicadoNoCalculaSuHash() {
+        transactionTemplate.executeWithoutResult(status -> {
+            var duplicado = topicoRepository.findById(DUPLICADO_ID).orElseThrow();
+            duplicado.actualizarTopico(new ActualizarTopicoDTO(null, null, Estado.CERRADO, null));
+            entityManager.flush();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            var duplicado = topicoRepository.findById(DUPLICADO_ID).orElseThrow();
+            var curso = cursoRepository.findById(OTRO_CURSO_ID).orElseThrow();
+            //Mismo texto que ya tiene: no es un cambio de contenido
+            duplicado.actualizarTopicoConCurso(new ActualizarTopicoDTO("mismo titulo", null, null, OTRO_CURSO_ID), curso);
+            entityManager.flush();
+        });
+
+        var duplicado = transactionTemplate.execute(status -> topicoRepository.findById(DUPLICADO_ID).orElseThrow());
+        assertThat(duplicado.getEstado()).isEqualTo(Estado.CERRADO);
+        assertThat(duplicado.getContenidoHash()).isNull();
+        assertThat(((Number) entityManager.createNativeQuery("select curso_id from topicos where id = " + DUPLICADO_ID)
+                .getSingleResult()).longValue()).isEqualTo(OTRO_CURSO_ID);
+    }
+
+    private void ejecutar(String sql) {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(sql).executeUpdate());
+    }
+}
@@ -0,0 +1,111 @@
+package com.desafio.forohub.domain.topico.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Varias peticiones marcan a la vez una respuesta distinta como solución del mismo tópico: sólo una puede ganar
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MarcarSolucionConcurrenteTest {
+
+    private static final long CURSO_ID = 910001L;
+    private static final long USUARIO_ID = 910001L;
+    private static final long TOPICO_ID = 910001L;
+    private static final long PRIMERA_RESPUESTA_ID = 910001L;
+    private static final int HILOS = 16;
+    private static final int RONDAS = 20;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void preparar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ejecutar("insert into cursos (id, activo, categoria, name) values (" + CURSO_ID + ", true, 'BACKEND', 'Concurrencia')");
+        ejecutar("insert into usuarios (id, apellido, email, enabled, nombre, password, role, username) values ("
+                + USUARIO_ID + ", 'Prueba', 'concurrencia@forohub.com', true, 'Prueba', 'x', 'USUARIO', 'concurrencia')");
+        ejecutar("insert into topicos (id, estado, fecha_creacion, mensaje, titulo, ultima_actualizacion, curso_id, usuario_id) values ("
+                + TOPICO_ID + ", 'ABIERTO', now(), 'mensaje', 'titulo', now(), " + CURSO_ID + ", " + USUARIO_ID + ")");
+        for (int i = 0; i < HILOS; i++) {
+            ejecutar("insert into respuestas (id, borrado, fecha_creacion, mensaje, solucion, ultima_actualizacion, topico_id, usuario_id) values ("
+                    + (PRIMERA_RESPUESTA_ID + i) + ", false, now(), 'respuesta', false, now(), " + TOPICO_ID + ", " + USUARIO_ID + ")");
+        }
+    }
+
+    @AfterEach
+    public void limpiar() {
+        ejecutar("update topicos set solucion_respuesta_id = null where id = " + TOPICO_ID);
+        ejecutar("delete from respuestas where topico_id = " + TOPICO_ID);
+        ejecutar("delete from topicos where id = " + TOPICO_ID);
+        ejecutar("delete from usuarios where id = " + USUARIO_ID);
+        ejecutar("delete from cursos where id = " + CURSO_ID);
+    }
+
+    @Test
+    public void soloUnaPeticionConcurrenteCierraElTopico() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        try {
+            for (int ronda = 0; ronda < RONDAS; ronda++) {
+                ejecutar("update topicos set estado = 'ABIERTO', solucion_respuesta_id = null where id = " + TOPICO_ID);
+
+                var salida = new CountDownLatch(1);
+                List<Future<Integer>> resultados = new ArrayList<>();
+                for (int i = 0; i < HILOS; i++) {
+                    long respuestaId = PRIMERA_RESPUESTA_ID + i;
+                    resultados.add(executor.submit(() -> {
+                        salida.await();
+                        return transactionTemplate.execute(status ->
+                                topicoRepository.marcarSolucion(TOPICO_ID, respuestaId, LocalDateTime.now()));
+                    }));
+                }
+                salida.countDown();
+
+                int ganadores = 0;
+                for (var resultado : resultados) {
+                    ganadores += resultado.get();
+                }
+                assertThat(ganadores).as("Ganadores en la ronda %d", ronda).isEqualTo(1);
+
+                var fila = (Object[]) entityManager
+                        .createNativeQuery("select estado, solucion_respuesta_id from topicos where id = " + TOPICO_ID)
+                        .getSingleResult();
+                assertThat(String.valueOf(fila[0])).isEqualTo("CERRADO");
+                assertThat(((Number) fila[1]).longValue()).isBetween(PRIMERA_RESPUESTA_ID, PRIMERA_RESPUESTA_ID + HILOS - 1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void ejecutar(String sql) {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(sql).executeUpdate());
+    }
+}
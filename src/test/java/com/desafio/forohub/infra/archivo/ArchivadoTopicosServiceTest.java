@@ -0,0 +1,165 @@
+package com.desafio.forohub.infra.archivo;
+
+import com.desafio.forohub.domain.topico.repository.TopicoArchivoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+//Mueve un tópico cerrado antiguo con su solución y comprueba que nada más cambia de tabla, que dos pasadas a la vez
+//no lo copian dos veces y que las sentencias copian antes de borrar y sueltan la solución antes de borrar respuestas
+@DataJpaTest(properties = {"api.archivo.antiguedad=3650d", "api.archivo.pausa=0ms", "api.archivo.chunk-size=1"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TopicoArchivoRepository.class, ArchivadoTopicosService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ArchivadoTopicosServiceTest {
+
+    private static final long CURSO_ID = 920001L;
+    private static final long USUARIO_ID = 920001L;
+    private static final long ARCHIVABLE_ID = 920001L;
+    private static final long ABIERTO_ID = 920002L;
+    private static final long RECIENTE_ID = 920003L;
+    private static final long SEGUNDO_ARCHIVABLE_ID = 920004L;
+    private static final long SOLUCION_ID = 920001L;
+    private static final String ANTIGUA = "'2001-01-01 00:00:00'";
+
+    @Autowired
+    private ArchivadoTopicosService archivadoTopicosService;
+
+    @Autowired
+    private TopicoArchivoRepository topicoArchivoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void preparar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ejecutar("insert into cursos (id, activo, categoria, name) values (" + CURSO_ID + ", true, 'BACKEND', 'Archivo')");
+        ejecutar("insert into usuarios (id, apellido, email, enabled, nombre, password, role, username) values ("
+                + USUARIO_ID + ", 'Prueba', 'archivo@forohub.com', true, 'Prueba', 'x', 'USUARIO', 'archivo')");
+        insertarTopico(ARCHIVABLE_ID, "CERRADO", ANTIGUA);
+        insertarTopico(SEGUNDO_ARCHIVABLE_ID, "CERRADO", ANTIGUA);
+        insertarTopico(ABIERTO_ID, "ABIERTO", ANTIGUA);
+        insertarTopico(RECIENTE_ID, "CERRADO", "now()");
+        for (int i = 0; i < 3; i++) {
+            ejecutar("insert into respuestas (id, borrado, fecha_creacion, mensaje, solucion, ultima_actualizacion, topico_id, usuario_id) values ("
+                    + (SOLUCION_ID + i) + ", false, " + ANTIGUA + ", 'respuesta " + i + "', " + (i == 0) + ", " + ANTIGUA + ", "
+                    + ARCHIVABLE_ID + ", " + USUARIO_ID + ")");
+        }
+        ejecutar("update topicos set solucion_respuesta_id = " + SOLUCION_ID + " where id = " + ARCHIVABLE_ID);
+    }
+
+    @AfterEach
+    public void limpiar() {
+        ejecutar("delete from respuestas_archivo where usuario_id = " + USUARIO_ID);
+        ejecutar("delete from topicos_archivo where usuario_id = " + USUARIO_ID);
+        ejecutar("update topicos set solucion_respuesta_id = null where usuario_id = " + USUARIO_ID);
+        ejecutar("delete from respuestas where usuario_id = " + USUARIO_ID);
+        ejecutar("delete from topicos where usuario_id = " + USUARIO_ID);
+        ejecutar("delete from usuarios where id = " + USUARIO_ID);
+        ejecutar("delete from cursos where id = " + CURSO_ID);
+    }
+
+    @Test
+    public void archivaSoloLosCerradosAntiguosConSusRespuestas() {
+        archivadoTopicosService.archivar();
+
+        assertThat(contar("topicos", "id in (" + ARCHIVABLE_ID + ", " + SEGUNDO_ARCHIVABLE_ID + ")")).isZero();
+        assertThat(contar("respuestas", "topico_id = " + ARCHIVABLE_ID)).isZero();
+        assertThat(contar("topicos", "id in (" + ABIERTO_ID + ", " + RECIENTE_ID + ")")).isEqualTo(2);
+        assertThat(contar("topicos_archivo", "usuario_id = " + USUARIO_ID)).isEqualTo(2);
+
+        var archivado = topicoArchivoRepository.findDetallesById(ARCHIVABLE_ID).orElseThrow();
+        assertThat(archivado.tieneSolucion()).isTrue();
+        var respuestas = topicoArchivoRepository.findRespuestasByTopicoId(ARCHIVABLE_ID,
+                PageRequest.of(0, 2, Sort.by("id")));
+        assertThat(respuestas.getTotalElements()).isEqualTo(3);
+        assertThat(respuestas.getContent()).extracting(r -> r.id()).containsExactly(SOLUCION_ID, SOLUCION_ID + 1);
+        assertThat(topicoArchivoRepository.findSolucionByTopicoId(ARCHIVABLE_ID)).hasValueSatisfying(
+                r -> assertThat(r.id()).isEqualTo(SOLUCION_ID));
+    }
+
+    @Test
+    public void dosPasadasALaVezNoCopianDosVeces() throws Exception {
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var salida = new CountDownLatch(1);
+            var primera = executor.submit(() -> {
+                salida.await();
+                archivadoTopicosService.archivar();
+                return null;
+            });
+            var segunda = executor.submit(() -> {
+                salida.await();
+                archivadoTopicosService.archivar();
+                return null;
+            });
+            salida.countDown();
+            primera.get();
+            segunda.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(contar("topicos_archivo", "usuario_id = " + USUARIO_ID)).isEqualTo(2);
+        assertThat(contar("respuestas_archivo", "topico_id = " + ARCHIVABLE_ID)).isEqualTo(3);
+        assertThat(contar("topicos", "id in (" + ARCHIVABLE_ID + ", " + SEGUNDO_ARCHIVABLE_ID + ")")).isZero();
+    }
+
+    @Test
+    public void copiaAntesDeBorrarYSueltaLaSolucionAntesDeBorrarRespuestas() {
+        var jdbc = mock(NamedParameterJdbcTemplate.class);
+        new TopicoArchivoRepository(jdbc).archivar(List.of(ARCHIVABLE_ID), LocalDateTime.now());
+
+        var sentencias = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, atLeastOnce()).update(sentencias.capture(), any(SqlParameterSource.class));
+        assertThat(sentencias.getAllValues()).extracting(sql -> sql.strip().split("\\s+", 4)[2]).containsExactly(
+                "topicos_archivo", "respuestas_archivo", "set", "respuestas", "topicos");
+        assertThat(sentencias.getAllValues().get(2)).startsWith("update topicos set solucion_respuesta_id = null");
+    }
+
+    private void insertarTopico(long id, String estado, String fecha) {
+        ejecutar("insert into topicos (id, estado, fecha_creacion, mensaje, titulo, ultima_actualizacion, curso_id, usuario_id, reply_count, view_count) values ("
+                + id + ", '" + estado + "', " + fecha + ", 'mensaje " + id + "', 'titulo " + id + "', " + fecha + ", "
+                + CURSO_ID + ", " + USUARIO_ID + ", 0, 0)");
+    }
+
+    private long contar(String tabla, String condicion) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from " + tabla + " where " + condicion)
+                .getSingleResult()).longValue();
+    }
+
+    private void ejecutar(String sql) {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(sql).executeUpdate());
+    }
+}
@@ -0,0 +1,28 @@
+package com.desafio.forohub.infra.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnalizadorEspanolTest {
+
+    @Test
+    public void quitaTildesMayusculasYPalabrasVacias() {
+        assertThat(AnalizadorEspanol.terminos("¿Cómo instalo Él JAVA en la Máquina?"))
+                .containsExactly("instal", "jav", "maquin");
+    }
+
+    @Test
+    public void singularYPluralDanElMismoTermino() {
+        assertThat(AnalizadorEspanol.terminos("clase clases")).containsExactly("clas", "clas");
+        assertThat(AnalizadorEspanol.terminos("programación programaciones"))
+                .containsExactly("programacion", "programacion");
+        assertThat(AnalizadorEspanol.terminos("luz luces")).containsExactly("luz", "luz");
+    }
+
+    @Test
+    public void noRecortaPalabrasCortasNiTerminadasEnDigito() {
+        assertThat(AnalizadorEspanol.terminos("sql java17 x")).containsExactly("sql", "java17");
+        assertThat(AnalizadorEspanol.terminos(null)).isEmpty();
+    }
+}
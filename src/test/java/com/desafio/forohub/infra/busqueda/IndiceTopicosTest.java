@@ -0,0 +1,87 @@
+package com.desafio.forohub.infra.busqueda;
+
+import com.desafio.forohub.domain.topico.Estado;
+import com.desafio.forohub.domain.topico.TopicosModificadosEvent;
+import com.desafio.forohub.domain.topico.dto.TopicoIndexableDTO;
+import com.desafio.forohub.domain.topico.repository.TopicoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+//Ranking BM25 y orden de las actualizaciones, con el repositorio simulado
+public class IndiceTopicosTest {
+
+    private final TopicoRepository topicoRepository = mock(TopicoRepository.class);
+    private final IndiceTopicos indice = new IndiceTopicos(topicoRepository, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry());
+
+    @Test
+    public void ordenaPorBm25ConElTituloPesandoMasYFiltraPorEstadoYCurso() {
+        when(topicoRepository.streamIndexables()).thenReturn(Stream.of(
+                new TopicoIndexableDTO(1L, "Duda de Spring", "No arranca el contexto", Estado.ABIERTO, 1L),
+                new TopicoIndexableDTO(2L, "Error al compilar", "Uso spring boot y maven", Estado.ABIERTO, 1L),
+                new TopicoIndexableDTO(3L, "Spring Security", "Spring con tokens JWT", Estado.CERRADO, 2L),
+                new TopicoIndexableDTO(4L, "Consultas SQL", "Índices en MySQL", Estado.ABIERTO, 2L)));
+        indice.construir();
+
+        var todos = indice.buscar("spring", null, null, 0, 10);
+        assertThat(todos.ids()).containsExactly(3L, 1L, 2L);
+        assertThat(todos.total()).isEqualTo(3);
+
+        assertThat(indice.buscar("spring", Estado.ABIERTO, null, 0, 10).ids()).containsExactly(1L, 2L);
+        assertThat(indice.buscar("spring", null, 2L, 0, 10).ids()).containsExactly(3L);
+        assertThat(indice.buscar("spring", null, null, 1, 1).ids()).containsExactly(1L);
+        assertThat(indice.buscar("postgres", null, null, 0, 10).ids()).isEmpty();
+
+        //Páginas al final o más allá de las coincidencias, también con un desplazamiento que no cabe en un int
+        assertThat(indice.buscar("spring", null, null, 2, 10).ids()).containsExactly(2L);
+        assertThat(indice.buscar("spring", null, null, 3, 10).ids()).isEmpty();
+        var lejana = indice.buscar("spring", null, null, 50_000_000L * 50, 50);
+        assertThat(lejana.ids()).isEmpty();
+        assertThat(lejana.total()).isEqualTo(3);
+    }
+
+    @Test
+    public void unaLecturaAntiguaQueTerminaTardeNoPisaALaNueva() throws Exception {
+        when(topicoRepository.streamIndexables()).thenReturn(Stream.empty());
+        indice.construir();
+
+        var segundaAplicada = new CountDownLatch(1);
+        var llamadas = new AtomicInteger();
+        when(topicoRepository.findIndexablesByIdIn(any())).thenAnswer(invocacion -> {
+            if (llamadas.incrementAndGet() == 1) {
+                segundaAplicada.await(5, TimeUnit.SECONDS);
+                return List.of(new TopicoIndexableDTO(1L, "Título viejo", "mensaje", Estado.ABIERTO, 1L));
+            }
+            return List.of(new TopicoIndexableDTO(1L, "Título nuevo", "mensaje", Estado.ABIERTO, 1L));
+        });
+
+        var hilo = Executors.newSingleThreadExecutor();
+        try {
+            var primera = hilo.submit(() -> indice.alModificarTopicos(TopicosModificadosEvent.de(1L)));
+            while (llamadas.get() == 0) {
+                Thread.onSpinWait();
+            }
+            indice.alModificarTopicos(TopicosModificadosEvent.de(1L));
+            segundaAplicada.countDown();
+            primera.get(5, TimeUnit.SECONDS);
+        } finally {
+            hilo.shutdownNow();
+        }
+
+        assertThat(indice.buscar("nuevo", null, null, 0, 10).ids()).containsExactly(1L);
+        assertThat(indice.buscar("viejo", null, null, 0, 10).ids()).isEmpty();
+    }
+}
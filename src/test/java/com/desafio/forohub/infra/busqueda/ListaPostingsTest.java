@@ -0,0 +1,38 @@
+package com.desafio.forohub.infra.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Ida y vuelta del varint con diferencias de uno a varios bytes, y tamaño de una lista densa
+public class ListaPostingsTest {
+
+    @Test
+    public void devuelveLosParesEnOrdenConValoresDeVariosBytes() {
+        var lista = new ListaPostings();
+        int[][] pares = {{0, 1}, {1, 300}, {200, 2}, {100_000, 1}, {Integer.MAX_VALUE - 1, 70_000}};
+        for (var par : pares) {
+            lista.agregar(par[0], par[1]);
+        }
+
+        List<int[]> leidos = new ArrayList<>();
+        lista.recorrer((documento, frecuencia) -> leidos.add(new int[]{documento, frecuencia}));
+
+        assertThat(leidos).containsExactly(pares);
+        assertThat(lista.documentos()).isEqualTo(pares.length);
+    }
+
+    @Test
+    public void documentosConsecutivosOcupanDosBytesPorPar() {
+        var lista = new ListaPostings();
+        for (int doc = 0; doc < 1000; doc++) {
+            lista.agregar(doc, 1);
+        }
+        lista.recortar();
+
+        assertThat(lista.bytes()).isEqualTo(2000);
+    }
+}
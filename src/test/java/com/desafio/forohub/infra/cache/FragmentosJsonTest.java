@@ -0,0 +1,67 @@
+package com.desafio.forohub.infra.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Clases de trozo, desalojo por reloj y fallos por versión, con un solo slab de 1KB (cuatro trozos de 256 bytes)
+public class FragmentosJsonTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FragmentosJson fragmentos = new FragmentosJson(new ObjectMapper(), registry,
+            DataSize.ofKilobytes(1), DataSize.ofKilobytes(1));
+
+    @Test
+    public void eligeLaMenorClaseEnLaQueCabe() {
+        assertThat(FragmentosJson.clase(1)).isEqualTo(0);
+        assertThat(FragmentosJson.clase(256)).isEqualTo(0);
+        assertThat(FragmentosJson.clase(257)).isEqualTo(1);
+        assertThat(FragmentosJson.clase(512)).isEqualTo(1);
+        assertThat(FragmentosJson.clase(513)).isEqualTo(2);
+        assertThat(FragmentosJson.clase(1024)).isEqualTo(2);
+    }
+
+    @Test
+    public void otraVersionEsUnFalloYLiberaElTrozo() {
+        var guardado = fragmentos.guardar("topico", 1L, "v1", "hola");
+
+        var leido = fragmentos.obtener("topico", 1L, "v1");
+        assertThat(new String(leido.contenido(), StandardCharsets.UTF_8)).isEqualTo("\"hola\"");
+        assertThat(leido.contenido()).isEqualTo(guardado.contenido());
+
+        assertThat(fragmentos.obtener("topico", 1L, "v2")).isNull();
+        assertThat(fragmentos.obtener("topico", 1L, "v1")).isNull();
+        assertThat(registry.get("forohub.fragmentos.json.bytes").gauge().value()).isZero();
+    }
+
+    @Test
+    public void desalojaLaEntradaNoLeidaDesdeLaUltimaVuelta() {
+        for (long id = 1; id <= 4; id++) {
+            fragmentos.guardar("respuesta", id, "v", "respuesta " + id);
+        }
+        for (long id = 1; id <= 3; id++) {
+            assertThat(fragmentos.obtener("respuesta", id, "v")).isNotNull();
+        }
+
+        fragmentos.guardar("respuesta", 5L, "v", "respuesta 5");
+
+        assertThat(fragmentos.obtener("respuesta", 4L, "v")).isNull();
+        for (long id : new long[]{1, 2, 3, 5}) {
+            assertThat(fragmentos.obtener("respuesta", id, "v")).isNotNull();
+        }
+        assertThat(registry.get("forohub.fragmentos.json").tag("resultado", "desalojo").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void noGuardaFragmentosMayoresQueUnSlab() {
+        var json = fragmentos.guardar("topico", 1L, "v", "x".repeat(2000));
+
+        assertThat(json.longitud()).isGreaterThan(1024);
+        assertThat(fragmentos.obtener("topico", 1L, "v")).isNull();
+    }
+}
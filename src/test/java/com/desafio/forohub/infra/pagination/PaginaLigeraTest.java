@@ -0,0 +1,58 @@
+package com.desafio.forohub.infra.pagination;
+
+import com.desafio.forohub.domain.curso.Categoria;
+import com.desafio.forohub.domain.curso.dto.DetalleCursoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Forma del formato ligero y su tamaño frente a PageImpl serializado tal cual, con el mismo contenido
+public class PaginaLigeraTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void escribeTotalSoloParaPageYSiguientePaginaSoloSiLaHay() throws Exception {
+        var cursos = cursos(5);
+        var pageable = PageRequest.of(0, 5, Sort.by("id"));
+
+        var conSiguiente = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                PaginaLigera.de(new SliceImpl<>(cursos, pageable, true))));
+        assertThat(conSiguiente.get("contenido")).hasSize(5);
+        assertThat(conSiguiente.get("contenido").get(0).get("name").asText()).isEqualTo("Curso 1");
+        assertThat(conSiguiente.get("siguientePagina").asInt()).isEqualTo(1);
+        assertThat(conSiguiente.has("total")).isFalse();
+
+        var ultima = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                PaginaLigera.de(new PageImpl<>(cursos, pageable, 5))));
+        assertThat(ultima.has("siguientePagina")).isFalse();
+        assertThat(ultima.get("total").asLong()).isEqualTo(5);
+    }
+
+    @Test
+    public void ocupaMenosQuePageImpl() throws Exception {
+        for (int tamano : new int[]{1, 5, 20}) {
+            var cursos = cursos(tamano);
+            var pageable = PageRequest.of(0, tamano, Sort.by("id"));
+            int actual = objectMapper.writeValueAsBytes(new PageImpl<>(cursos, pageable, 100)).length;
+            int ligera = objectMapper.writeValueAsBytes(PaginaLigera.de(new SliceImpl<>(cursos, pageable, true))).length;
+            assertThat(ligera).isLessThan(actual);
+        }
+    }
+
+    private static List<DetalleCursoDTO> cursos(int cantidad) {
+        var cursos = new ArrayList<DetalleCursoDTO>();
+        for (int i = 1; i <= cantidad; i++) {
+            cursos.add(new DetalleCursoDTO((long) i, "Curso " + i, Categoria.BACKEND, true));
+        }
+        return cursos;
+    }
+}
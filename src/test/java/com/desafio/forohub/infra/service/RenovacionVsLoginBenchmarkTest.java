@@ -0,0 +1,142 @@
+package com.desafio.forohub.infra.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+//Coste de POST /login (BCrypt + lectura del usuario + INSERT del refresh token) frente a POST /login/refresh
+//(SHA-256 + UPDATE condicional + lectura del usuario + INSERT del siguiente token), ambos de extremo a extremo
+//sobre H2 en memoria: con MySQL cada sentencia suma además un viaje de red. Es manual porque un tiempo de reloj
+//no sirve como aserción en una máquina compartida: mvn test -Dtest=RenovacionVsLoginBenchmarkTest -Dbenchmark=true
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class RenovacionVsLoginBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RenovacionVsLoginBenchmarkTest.class);
+    private static final long USUARIO_ID = 950001L;
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "contraseña-de-prueba";
+    private static final int CALENTAMIENTO_LOGIN = 10;
+    private static final int CALENTAMIENTO_RENOVACION = 2_000;
+    private static final int LOGINS = 50;
+    private static final int RENOVACIONES = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void preparar() {
+        jdbcTemplate.update("insert into usuarios (id, apellido, email, enabled, nombre, password, role, username) "
+                + "values (?, 'Prueba', 'benchmark@forohub.com', true, 'Prueba', ?, 'USUARIO', ?)",
+                USUARIO_ID, passwordEncoder.encode(PASSWORD), USERNAME);
+    }
+
+    @AfterEach
+    public void limpiar() {
+        jdbcTemplate.update("delete from refresh_tokens where usuario_id = ?", USUARIO_ID);
+        jdbcTemplate.update("delete from usuarios where id = ?", USUARIO_ID);
+    }
+
+    @Test
+    public void loginFrenteARenovacion() throws Exception {
+        var estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var refresh = login();
+        for (int i = 0; i < CALENTAMIENTO_LOGIN; i++) {
+            login();
+        }
+        for (int i = 0; i < CALENTAMIENTO_RENOVACION; i++) {
+            refresh = renovar(refresh);
+        }
+
+        var medicionLogin = new Medicion(estadisticas);
+        for (int i = 0; i < LOGINS; i++) {
+            login();
+        }
+        medicionLogin.terminar(LOGINS);
+
+        var medicionRenovacion = new Medicion(estadisticas);
+        for (int i = 0; i < RENOVACIONES; i++) {
+            refresh = renovar(refresh);
+        }
+        medicionRenovacion.terminar(RENOVACIONES);
+
+        log.info("POST /login: {} µs/petición, {} sentencias SQL y {} transacciones por petición",
+                medicionLogin.microsPorOperacion, medicionLogin.sentenciasPorOperacion, medicionLogin.transaccionesPorOperacion);
+        log.info("POST /login/refresh: {} µs/petición, {} sentencias SQL y {} transacciones por petición",
+                medicionRenovacion.microsPorOperacion, medicionRenovacion.sentenciasPorOperacion,
+                medicionRenovacion.transaccionesPorOperacion);
+    }
+
+    private String login() throws Exception {
+        var cuerpo = objectMapper.writeValueAsString(Map.of("username", USERNAME, "password", PASSWORD));
+        return refreshToken(mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private String renovar(String refreshToken) throws Exception {
+        var cuerpo = objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken));
+        return refreshToken(mockMvc.perform(post("/login/refresh").contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private String refreshToken(String respuesta) throws Exception {
+        var token = objectMapper.readTree(respuesta).path("refreshToken").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("Respuesta inesperada: " + respuesta);
+        }
+        return token;
+    }
+
+    private static final class Medicion {
+        private final Statistics estadisticas;
+        private final long inicio = System.nanoTime();
+        private final long sentencias;
+        private final long transacciones;
+        private long microsPorOperacion;
+        private double sentenciasPorOperacion;
+        private double transaccionesPorOperacion;
+
+        private Medicion(Statistics estadisticas) {
+            this.estadisticas = estadisticas;
+            this.sentencias = estadisticas.getPrepareStatementCount();
+            this.transacciones = estadisticas.getTransactionCount();
+        }
+
+        private void terminar(int operaciones) {
+            microsPorOperacion = (System.nanoTime() - inicio) / 1_000 / operaciones;
+            sentenciasPorOperacion = (double) (estadisticas.getPrepareStatementCount() - sentencias) / operaciones;
+            transaccionesPorOperacion = (double) (estadisticas.getTransactionCount() - transacciones) / operaciones;
+        }
+    }
+}